@@ -75,6 +75,14 @@ public abstract class AbstractRestClient extends AbstractRemoteClient {
 
     public static final String CONTENT_TYPE_URL_ENCODED = "application/x-www-form-urlencoded";
     public static final String CONTENT_TYPE_XML = "application/xml";
+    public static final int MAX_KEEP_ALIVE_CONNECTIONS = 32;
+
+    static {
+        // Idle connections kept alive per server by HttpURLConnection, the default of 5 is less than the lines a batch run may have running
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", Integer.toString(MAX_KEEP_ALIVE_CONNECTIONS));
+        }
+    }
 
     /**
      * Setup for remote service - this must be overridden by subclass
@@ -320,6 +328,7 @@ public abstract class AbstractRestClient extends AbstractRemoteClient {
 
         doc = null; // always null previous request parsed data
         HttpURLConnection connection = null;
+        InputStream input = null;
         URL url = null;
         try {
             if (getVerbose()) {
@@ -389,7 +398,8 @@ public abstract class AbstractRestClient extends AbstractRemoteClient {
                 if (cookies.size() == 0) {
                     addCookiesFromUrl(cookies, connection);
                 }
-                resultData = streamToString(connection.getInputStream()).trim();
+                input = connection.getInputStream();
+                resultData = streamToString(input).trim();
 
                 // MORE debug
                 // out.println("Cookies: " + cookies.size());
@@ -412,7 +422,7 @@ public abstract class AbstractRestClient extends AbstractRemoteClient {
                     }
                 }
             } else {
-                connection.getInputStream();
+                input = connection.getInputStream();
                 // out.println("no parse data");
             }
         } catch (ParserConfigurationException exception) {
@@ -427,12 +437,35 @@ public abstract class AbstractRestClient extends AbstractRemoteClient {
             throw new ClientException("Invalid request: " + exception.toString());
         } finally {
             if (connection != null) {
-                connection.disconnect();
+                releaseConnection(connection, input);
             }
         }
         return;
     }
 
+    /**
+     * Release a connection so the next request to the same server can reuse it - the rest of the response is read and the stream closed, which returns the
+     * connection to the keep-alive cache of HttpURLConnection. Disconnect would close it and the next request pays for a new TCP and TLS handshake.
+     * 
+     * @param connection
+     * @param input - response stream or null if the request failed before or when getting it
+     */
+    protected void releaseConnection(final HttpURLConnection connection, final InputStream input) {
+        InputStream stream = (input != null) ? input : connection.getErrorStream(); // error responses leave their data in the error stream
+        if (stream == null) {
+            connection.disconnect(); // no response to finish, nothing to reuse
+            return;
+        }
+        try {
+            byte buffer[] = new byte[4096];
+            while (stream.read(buffer) >= 0) {
+            }
+            stream.close();
+        } catch (IOException exception) {
+            connection.disconnect(); // broken connection, do not reuse it
+        }
+    }
+
     /**
      * Allow subclass to set additional properties on the connection - for example, basic authentication
      * 
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2026 Bob Swift.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *       this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *              notice, this list of conditions and the following disclaimer in the
+ *            documentation and/or other materials provided with the distribution.
+ *     * The names of contributors may not be used to endorse or promote products
+ *           derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/*
+ *  Created on: Oct 18, 2026
+ */
+
+package org.swift.common.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Batch runner - runs lines of a run script concurrently on a bounded number of threads. Each line is analyzed for the targets it touches (project,
+ * issue, user and group) and depends on the earlier lines touching the same targets, so lines form a dependency graph. Lines changing a target run in
+ * script order with all other lines on it, lines on different issues of a project only wait for lines on the project itself. A line without known
+ * targets, or with a parameter the runner does not know, waits for all lines before it and all lines after it wait for it. Output of every line is
+ * collected and written in script order, so the output looks like the output of a sequential run, and success and fail counts are taken in script
+ * order too. After a failure without continue, lines not started yet are skipped.
+ */
+public class BatchRunner {
+    protected final CliClient client;
+    protected final boolean continueOnError;
+    protected final boolean quiet;
+    protected final boolean simulate;
+    protected final ExecutorService executor;
+
+    /**
+     * Parameters of a line which either name a target handled by getTargets or only carry values for the action of the line - a line using any other
+     * parameter may touch something getTargets does not see, like issues found by a search or a scheme, and runs as a barrier
+     */
+    private static final Set<String> KNOWN_PARAMETERS = new HashSet<String>(Arrays.asList(new String[] {
+            // targets
+            "project", "toProject", "issue", "parent", "toIssue", "userId", "group", "defaultGroup", "assignee", "reporter", "lead",
+            // connection and output
+            "action", "server", "user", "password", "encoding", "debug", "verbose", "quiet", "outputFormat", "continue", "simulate",
+            // values
+            "name", "description", "summary", "priority", "environment", "components", "affectsVersions", "fixVersions", "custom", "field", "values",
+            "date", "dateFormat", "type", "resolution", "step", "comment", "link", "timeSpent", "count", "after", "version", "userFullName",
+            "userEmail", "userPassword", "findReplace", "autoVersion", "autoComponent", "autoGroup", "asVersion", "asComponent", "copyLinks",
+            "copyAttachments" }));
+
+    private final List<Task> tasks = new ArrayList<Task>(); // in script order, null after output is written
+    private final Map<String, Access> accesses = new HashMap<String, Access>(); // by target since the last barrier
+    private final List<Task> sinceBarrier = new ArrayList<Task>();
+    private Task lastBarrier = null;
+    private int written = 0; // tasks whose output is written
+    private int stopIndex = Integer.MAX_VALUE; // index of first failed task when not continuing on error
+    private int successCount = 0;
+    private int failCount = 0;
+    private int skipCount = 0;
+
+    /**
+     * @param client - client running each line, see CliClient.doSingleRunLine
+     * @param threads - maximum number of lines running at the same time
+     * @param continueOnError - true to keep going even if a line failed
+     * @param quiet - true to reduce the number of messages logged
+     * @param simulate - true to only log lines that would have been run
+     */
+    public BatchRunner(final CliClient client, final int threads, final boolean continueOnError, final boolean quiet, final boolean simulate) {
+        this.client = client;
+        this.continueOnError = continueOnError;
+        this.quiet = quiet;
+        this.simulate = simulate;
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+    }
+
+    /**
+     * Schedule a line to run once the lines it depends on are done
+     * 
+     * @param line - script line
+     * @return false if a line failed and the script should not be read any further
+     */
+    public synchronized boolean submit(final String line) {
+        if (stopIndex != Integer.MAX_VALUE) {
+            return false;
+        }
+        Task task = new Task(tasks.size(), line);
+        tasks.add(task);
+        if (isRemote(line)) {
+            Map<String, Boolean> targets = getTargets(line);
+            if (targets.isEmpty()) {
+                if (sinceBarrier.isEmpty()) {
+                    dependOn(task, lastBarrier);
+                }
+                for (Task before : sinceBarrier) {
+                    dependOn(task, before);
+                }
+                lastBarrier = task;
+                accesses.clear();
+                sinceBarrier.clear();
+            } else {
+                dependOn(task, lastBarrier);
+                for (Map.Entry<String, Boolean> target : targets.entrySet()) {
+                    Access access = accesses.get(target.getKey());
+                    if (access == null) {
+                        access = new Access();
+                        accesses.put(target.getKey(), access);
+                    }
+                    access.add(task, target.getValue());
+                }
+                sinceBarrier.add(task);
+            }
+        }
+        if (task.waiting == 0) {
+            executor.execute(task);
+        }
+        return true;
+    }
+
+    /**
+     * Wait for all submitted lines and stop the threads
+     */
+    public synchronized void await() throws InterruptedException {
+        try {
+            while (written < tasks.size()) {
+                wait();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public synchronized int getSuccessCount() {
+        return successCount;
+    }
+
+    public synchronized int getFailCount() {
+        return failCount;
+    }
+
+    /**
+     * @return number of lines not run because an earlier line failed
+     */
+    public synchronized int getSkipCount() {
+        return skipCount;
+    }
+
+    /**
+     * Targets a line works on - override to add targets of client specific parameters
+     * 
+     * @param line - script line
+     * @return map of target name, like issue:ABC-1, to true if the line may change the target or false if it only needs it to exist, empty if the
+     *         line has to run as a barrier
+     */
+    protected Map<String, Boolean> getTargets(final String line) {
+        Map<String, Boolean> targets = new LinkedHashMap<String, Boolean>();
+        for (String name : getParameterNames(line)) {
+            if (!isKnownParameter(name)) {
+                return targets;
+            }
+        }
+        Map<String, String> parameters = getParameters(line);
+        for (String name : new String[] {"project", "toProject"}) {
+            String project = parameters.get(name);
+            if (project != null) {
+                targets.put("project:" + project.toUpperCase(), Boolean.TRUE);
+            }
+        }
+        for (String name : new String[] {"issue", "parent", "toIssue"}) {
+            String issue = parameters.get(name);
+            if (issue != null) {
+                issue = issue.toUpperCase();
+                targets.put("issue:" + issue, Boolean.TRUE);
+                if ((issue.indexOf('-') > 0) && !targets.containsKey("project:" + issue.substring(0, issue.indexOf('-')))) {
+                    targets.put("project:" + issue.substring(0, issue.indexOf('-')), Boolean.FALSE);
+                }
+            }
+        }
+        String user = parameters.get("userId");
+        if (user != null) {
+            targets.put("user:" + user.toLowerCase(), Boolean.TRUE);
+        }
+        for (String name : new String[] {"assignee", "reporter", "lead"}) {
+            String used = parameters.get(name);
+            if ((used != null) && !targets.containsKey("user:" + used.toLowerCase())) {
+                targets.put("user:" + used.toLowerCase(), Boolean.FALSE);
+            }
+        }
+        for (String name : new String[] {"group", "defaultGroup"}) {
+            String group = parameters.get(name);
+            if (group != null) {
+                targets.put("group:" + group.toLowerCase(), Boolean.TRUE);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Parameters getTargets knows - override to add client specific parameters
+     * 
+     * @param name - parameter name without the leading --
+     * @return true if the parameter names a target getTargets handles or does not name a target at all
+     */
+    protected boolean isKnownParameter(final String name) {
+        return KNOWN_PARAMETERS.contains(name);
+    }
+
+    /**
+     * Get --name value parameters of a script line - values may be double quoted to contain blanks
+     * 
+     * @return values without quotes by parameter name, blank values are left out
+     */
+    protected Map<String, String> getParameters(final String line) {
+        List<String> tokens = getTokens(line);
+        Map<String, String> parameters = new HashMap<String, String>();
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            if (tokens.get(i).startsWith("--")) {
+                String value = tokens.get(i + 1).trim();
+                if (!value.equals("") && !value.startsWith("--")) {
+                    parameters.put(tokens.get(i).substring(2), value);
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * @return names of all parameters of a script line, switches included
+     */
+    protected List<String> getParameterNames(final String line) {
+        List<String> names = new ArrayList<String>();
+        for (String token : getTokens(line)) {
+            if (token.startsWith("--")) {
+                names.add(token.substring(2));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Split a script line at blanks outside of double quotes
+     */
+    private static List<String> getTokens(final String line) {
+        List<String> tokens = new ArrayList<String>();
+        StringBuilder token = null;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                if (token == null) {
+                    token = new StringBuilder();
+                }
+            } else if (!quoted && Character.isWhitespace(c)) {
+                if (token != null) {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+            } else {
+                if (token == null) {
+                    token = new StringBuilder();
+                }
+                token.append(c);
+            }
+        }
+        if (token != null) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Comments and blank lines are only echoed, they need no ordering
+     */
+    protected boolean isRemote(final String line) {
+        String trimmed = line.trim();
+        return !(trimmed.equals("") || trimmed.startsWith("#"));
+    }
+
+    private static void dependOn(final Task task, final Task before) {
+        if ((before != null) && !before.done && !before.dependents.contains(task)) {
+            before.dependents.add(task);
+            task.waiting++;
+        }
+    }
+
+    /**
+     * Lines using a target since the last barrier - a changing line waits for the last changing line and all lines using the target after it, a using
+     * line only waits for the last changing line
+     */
+    private static class Access {
+        Task lastChange = null;
+        final List<Task> usesSinceChange = new ArrayList<Task>();
+
+        void add(final Task task, final boolean change) {
+            dependOn(task, lastChange);
+            if (change) {
+                for (Task use : usesSinceChange) {
+                    dependOn(task, use);
+                }
+                usesSinceChange.clear();
+                lastChange = task;
+            } else {
+                usesSinceChange.add(task);
+            }
+        }
+    }
+
+    private synchronized void complete(final Task task, final boolean success) {
+        task.done = true;
+        task.success = success;
+        if (!success && !task.skipped && !continueOnError && (task.index < stopIndex)) {
+            stopIndex = task.index;
+        }
+        for (Task dependent : task.dependents) {
+            if (--dependent.waiting == 0) {
+                executor.execute(dependent);
+            }
+        }
+        task.dependents.clear();
+        while ((written < tasks.size()) && tasks.get(written).done) {
+            Task done = tasks.get(written);
+            done.write();
+            if (done.skipped) {
+                skipCount++;
+            } else if (done.success) {
+                successCount++;
+            } else {
+                failCount++;
+            }
+            tasks.set(written, null);
+            written++;
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean isSkipped(final Task task) {
+        return task.index > stopIndex;
+    }
+
+    /**
+     * One script line with the lines waiting for it and its collected output
+     */
+    private class Task implements Runnable {
+        final int index;
+        final String line;
+        final List<Task> dependents = new ArrayList<Task>();
+        int waiting = 0;
+        boolean done = false;
+        boolean success = false;
+        boolean skipped = false;
+        final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+
+        Task(final int index, final String line) {
+            this.index = index;
+            this.line = line;
+        }
+
+        public void run() {
+            boolean success = false;
+            if (isSkipped(this)) {
+                skipped = true;
+            } else {
+                PrintStream out = new PrintStream(outBuffer, true);
+                PrintStream err = new PrintStream(errBuffer, true);
+                try {
+                    success = client.doSingleRunLine(line, quiet, simulate, out, err);
+                } catch (Exception exception) {
+                    err.println("Exception: " + client.exceptionMessage(exception) + " running: " + line);
+                } catch (Error error) {
+                    err.println("Error: " + error + " running: " + line);
+                }
+                out.flush();
+                err.flush();
+            }
+            complete(this, success);
+        }
+
+        void write() {
+            if (outBuffer.size() > 0) {
+                client.out.write(outBuffer.toByteArray(), 0, outBuffer.size());
+                client.out.flush();
+            }
+            if (errBuffer.size() > 0) {
+                client.err.write(errBuffer.toByteArray(), 0, errBuffer.size());
+                client.err.flush();
+            }
+        }
+    }
+}
@@ -359,6 +359,8 @@ public class CliClient {
         addOption("database", "Database name is required for SQL actions.");
 
         addSwitch("continue", "Continue processing even after errors are encountered."); // primarily for the run action
+        addIntegerOption("threads",
+                "Number of script lines run at the same time by run actions. Lines for the same project, issue, user or group run in script order.", 1);
         addSwitch("simulate", "Simulate running actions. Log the action that would be taken."); // primarily for the run sql action
     }
 
@@ -553,6 +555,7 @@ public class CliClient {
         int failCount = 0;
         String fileName = getString("file");
         String fileMessage;
+        BatchRunner batch = getBatchRunner(continueOnError, quiet, simulate);
 
         if (!fileName.equals("")) {
             File file = new File(fileName);
@@ -563,7 +566,11 @@ public class CliClient {
                     try {
                         String line = input.readLine();
                         while (line != null) {
-                            if (doSingleRunLine(line, quiet, simulate)) {
+                            if (batch != null) {
+                                if (!batch.submit(line)) {
+                                    break; // stop further processing
+                                }
+                            } else if (doSingleRunLine(line, quiet, simulate)) {
                                 successCount++;
                             } else {
                                 failCount++;
@@ -599,7 +606,11 @@ public class CliClient {
                     if (input.length() > 0) {
                         String line = input.toString().trim();
                         if (!line.equals("")) {
-                            if (doSingleRunLine(line, quiet, simulate)) {
+                            if (batch != null) {
+                                if (!batch.submit(line)) {
+                                    break; // stop further processing
+                                }
+                            } else if (doSingleRunLine(line, quiet, simulate)) {
                                 successCount++;
                             } else {
                                 failCount++;
@@ -618,14 +629,51 @@ public class CliClient {
             } catch (Exception discard) {
             }
         }
+        int skipCount = 0;
+        if (batch != null) {
+            awaitBatch(batch);
+            successCount = batch.getSuccessCount();
+            failCount = batch.getFailCount();
+            skipCount = batch.getSkipCount();
+        }
 
         String successMessage = ((successCount == 0) && (failCount != 0)) ? "" : successCount + " actions were successful ";
         if (failCount > 0) {
-            throw new ClientException(failCount + " actions failed" + ((successCount > 0) ? ", " : " ") + successMessage + fileMessage);
+            throw new ClientException(failCount + " actions failed" + ((successCount > 0) ? ", " : " ") + successMessage + getSkipMessage(skipCount)
+                    + fileMessage);
         }
         return (quiet ? "" : "\n") + "Run completed successfully. " + successMessage + fileMessage;
     }
 
+    /**
+     * Get runner for lines of a run script when the threads parameter asks for more than one thread
+     * 
+     * @return batch runner or null to run lines one after the other
+     */
+    protected BatchRunner getBatchRunner(final boolean continueOnError, final boolean quiet, final boolean simulate) {
+        int threads = ((jsapResult != null) && jsapResult.contains("threads")) ? getInteger("threads") : 1;
+        return (threads > 1) ? new BatchRunner(this, threads, continueOnError, quiet, simulate) : null;
+    }
+
+    /**
+     * @return message part for lines of a batch not run after a failure
+     */
+    protected String getSkipMessage(final int skipCount) {
+        return (skipCount > 0) ? "and " + skipCount + " actions were skipped " : "";
+    }
+
+    /**
+     * Wait for all lines given to a batch runner
+     */
+    protected void awaitBatch(final BatchRunner batch) throws ClientException {
+        try {
+            batch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("Interrupted while waiting for run actions to complete.");
+        }
+    }
+
     /**
      * Run a script of actions for the client CLI
      * 
@@ -639,6 +687,17 @@ public class CliClient {
      */
     public boolean doSingleRunLine(final String inLine, final boolean quiet, final boolean simulate) throws RemoteException, ClientException,
             RemoteRestException {
+        return doSingleRunLine(inLine, quiet, simulate, out, err);
+    }
+
+    /**
+     * Run a line of a script writing messages of the line and of its action to the given streams - used by BatchRunner to keep output of lines apart
+     * 
+     * @param out - stream for messages and output of the action
+     * @param err - stream for errors of the action
+     */
+    public boolean doSingleRunLine(final String inLine, final boolean quiet, final boolean simulate, final PrintStream out, final PrintStream err)
+            throws RemoteException, ClientException, RemoteRestException {
         boolean result = true;
 
         String line = inLine.trim();
@@ -655,7 +714,7 @@ public class CliClient {
                 if (!quiet) {
                     out.println("\nRun: " + line);
                 }
-                exitCode = processRunLine(line);
+                exitCode = processRunLine(line, out, err);
             }
             result = (exitCode == ExitCode.SUCCESS);
             if (!result) {
@@ -673,9 +732,19 @@ public class CliClient {
      * @throws java.rmi.RemoteException
      */
     protected ExitCode processRunLine(final String line) throws java.rmi.RemoteException, ClientException, RemoteRestException {
+        return processRunLine(line, out, err);
+    }
+
+    /**
+     * Process line for running a script with the runner writing to the given streams
+     */
+    protected ExitCode processRunLine(final String line, final PrintStream out, final PrintStream err) throws java.rmi.RemoteException, ClientException,
+            RemoteRestException {
         CliClient runner = getNewClient();
         runner.setVerbose(verbose); // carry over these setting as default for runner
         runner.setDebug(debug);
+        runner.out = out;
+        runner.err = err;
         return runner.doWork(line);
     }
 
@@ -711,6 +780,7 @@ public class CliClient {
             sql = getFileAsString(file, getString("charset"));
         }
 
+        BatchRunner batch = getBatchRunner(continueOnError, quiet, simulate);
         try {
             statement = connection.prepareStatement(sql);
             if (statement.execute()) {
@@ -727,7 +797,11 @@ public class CliClient {
                      * } exitCode = processRunLine(line); }
                      */
                     // if (exitCode == ExitCode.SUCCESS) {
-                    if (doSingleRunLine(line, quiet, simulate)) {
+                    if (batch != null) {
+                        if (!batch.submit(line)) {
+                            break; // stop further processing
+                        }
+                    } else if (doSingleRunLine(line, quiet, simulate)) {
                         successCount++;
                     } else {
                         failCount++;
@@ -744,11 +818,21 @@ public class CliClient {
                 connection.close();
             } catch (SQLException ignore) {
             }
+            if (batch != null) {
+                awaitBatch(batch);
+            }
+        }
+        int skipCount = 0;
+        if (batch != null) {
+            successCount = batch.getSuccessCount();
+            failCount = batch.getFailCount();
+            skipCount = batch.getSkipCount();
         }
 
         String successMessage = ((successCount == 0) && (failCount != 0)) ? "" : successCount + " actions were successful ";
         if (failCount > 0) {
-            throw new ClientException(failCount + " actions failed" + ((successCount > 0) ? ", " : " ") + successMessage + fileMessage);
+            throw new ClientException(failCount + " actions failed" + ((successCount > 0) ? ", " : " ") + successMessage + getSkipMessage(skipCount)
+                    + fileMessage);
         }
         return "\nRun completed successfully. " + successMessage + fileMessage;
     }
@@ -0,0 +1,360 @@
+package jiracli.bench;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import jiracli.common.Command;
+import jiracli.common.Rule;
+import jiracli.common.SimpleGrammar;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.cli.PosixParser;
+
+import scanner.NumberParsing;
+import scanner.PackedTokens;
+import scanner.ParallelScanner;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+import scanner.TokenStream;
+
+/**
+ * Author: sphinks
+ * File: FrontEndBenchmark.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Benchmark of the scanner modes and of SimpleGrammar on generated scripts.
+ * For every case it prints throughput, allocated bytes per operation and
+ * latency percentiles of single operations. Allocation is measured with the
+ * HotSpot thread allocation counter and is not reported for the parallel case,
+ * which allocates on pool threads. The numbers cases parse the same generated
+ * integers and reals with NumberPattern and with Integer.parseInt and
+ * Double.parseDouble on a new String. The scaling case scans scripts of 10k, 100k
+ * and 1M tokens with the compiled scanner and prints time per token, which
+ * should stay about the same when scanning is linear.
+ */
+public class FrontEndBenchmark {
+
+	private final static int GRAMMAR_MODIFIERS = 6;
+	private final static int[] SCALING_TOKENS = {10000, 100000, 1000000};
+	private final static int NUMBERS = 100000;
+
+	private static abstract class Case {
+
+		final String name;
+		final boolean scansScript;
+
+		Case(String name) {
+			this(name, true);
+		}
+
+		Case(String name, boolean scansScript) {
+			this.name = name;
+			this.scansScript = scansScript;
+		}
+
+		/**
+		 * @return anything depending on the work done, so it is not optimized away
+		 */
+		abstract long run(char[] script) throws IOException;
+	}
+
+	public static void main(String[] args) throws IOException {
+		Options options = new Options();
+		options.addOption(new Option("size", true, "Script size in characters (default 1000000)"));
+		options.addOption(new Option("warmup", true, "Warmup iterations (default 20)"));
+		options.addOption(new Option("iterations", true, "Measured iterations (default 50)"));
+		options.addOption(new Option("strings", true, "Percent of quoted strings (default 10)"));
+		options.addOption(new Option("numbers", true, "Percent of numbers (default 20)"));
+		options.addOption(new Option("operators", true, "Percent of operators (default 30)"));
+		options.addOption(new Option("case", true, "Run only cases with given name"));
+		options.addOption(new Option("h", "help", false, "Show help"));
+		CommandLine commandLine;
+		try {
+			commandLine = new PosixParser().parse(options, args);
+		} catch (ParseException parseException) {
+			System.err.println(parseException.getMessage());
+			return;
+		}
+		if (commandLine.hasOption("h")) {
+			new HelpFormatter().printHelp("java jiracli.bench.FrontEndBenchmark", options);
+			return;
+		}
+		int size = intOption(commandLine, "size", 1000000);
+		int warmup = intOption(commandLine, "warmup", 20);
+		int iterations = intOption(commandLine, "iterations", 50);
+		ScriptGenerator generator = new ScriptGenerator(42,
+				intOption(commandLine, "strings", 10),
+				intOption(commandLine, "numbers", 20),
+				intOption(commandLine, "operators", 30));
+		char[] script = generator.generate(size);
+
+		System.out.println(String.format("%-10s %10s %10s %14s %10s %10s %10s %10s",
+				"case", "ops/s", "Mchars/s", "alloc B/op", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		for (Case c : cases()) {
+			if (!commandLine.hasOption("case") || commandLine.getOptionValue("case").equals(c.name)) {
+				measure(c, script, warmup, iterations);
+			}
+		}
+		if (!commandLine.hasOption("case") || commandLine.getOptionValue("case").equals("scaling")) {
+			scaling(generator, warmup, iterations);
+		}
+	}
+
+	/**
+	 * Scan scripts of SCALING_TOKENS tokens and print median time per token.
+	 * Sizes in characters are estimated from a sample, so token counts are
+	 * close to the requested ones but not exact.
+	 */
+	private static void scaling(ScriptGenerator generator, int warmup, int iterations) {
+		Scanner scanner = new Scanner(true);
+		TokenBuffer buffer = new TokenBuffer();
+		char[] sample = generator.generate(100000);
+		double charsPerToken = (double) sample.length / scanner.scan(sample, buffer).size();
+		System.out.println();
+		System.out.println(String.format("%-10s %10s %12s %10s %10s", "scaling", "tokens", "chars", "ns/token", "vs first"));
+		char[][] scripts = new char[SCALING_TOKENS.length][];
+		for (int s = 0; s < scripts.length; ++s) {
+			scripts[s] = generator.generate((int) (SCALING_TOKENS[s] * charsPerToken));
+		}
+		// Warm up on the largest script, so every size runs the same compiled code
+		for (int i = 0; i < warmup; ++i) {
+			scanner.scan(scripts[scripts.length - 1], buffer);
+		}
+		double first = 0;
+		for (int s = 0; s < scripts.length; ++s) {
+			char[] script = scripts[s];
+			int tokens = 0;
+			long[] times = new long[iterations];
+			for (int i = 0; i < iterations; ++i) {
+				long start = System.nanoTime();
+				tokens = scanner.scan(script, buffer).size();
+				times[i] = System.nanoTime() - start;
+			}
+			Arrays.sort(times);
+			double perToken = (double) times[times.length / 2] / tokens;
+			if (s == 0) {
+				first = perToken;
+			}
+			System.out.println(String.format("%-10s %10d %12d %10.2f %10.2f",
+					"compiled", tokens, script.length, perToken, perToken / first));
+		}
+	}
+
+	private static List<Case> cases() {
+		final ForkJoinPool pool = new ForkJoinPool();
+		final SimpleGrammar grammar = grammar();
+		final CommandLine[] commandLines = commandLines();
+		List<Case> cases = new ArrayList<Case>();
+		cases.add(new Case("reference") {
+			long run(char[] script) {
+				return new Scanner(false).scan(script).length;
+			}
+		});
+		cases.add(new Case("compiled") {
+			final Scanner scanner = new Scanner(true);
+			final TokenBuffer buffer = new TokenBuffer();
+			long run(char[] script) {
+				return scanner.scan(script, buffer).size();
+			}
+		});
+		cases.add(new Case("packed") {
+			final Scanner scanner = new Scanner(true);
+			long run(char[] script) {
+				PackedTokens tokens = scanner.scanPacked(script);
+				return tokens.size();
+			}
+		});
+		cases.add(new Case("stream") {
+			final Scanner scanner = new Scanner(true);
+			long run(char[] script) throws IOException {
+				TokenStream stream = scanner.stream(new CharArrayReader(script));
+				long count = 0;
+				while (stream.nextToken() != null) {
+					count++;
+				}
+				return count;
+			}
+		});
+		cases.add(new Case("parallel") {
+			final ParallelScanner scanner = new ParallelScanner(pool);
+			long run(char[] script) {
+				return scanner.scan(script).length;
+			}
+		});
+		final Numbers numbers = new Numbers(NUMBERS);
+		cases.add(new Case("numbers", false) {
+			long run(char[] script) {
+				long sum = 0;
+				for (int i = 0; i < numbers.count; ++i) {
+					if (numbers.real[i]) {
+						sum += (long) NumberParsing.parseReal(numbers.text, numbers.starts[i], numbers.lengths[i]);
+					} else {
+						sum += NumberParsing.parseLong(numbers.text, numbers.starts[i], numbers.lengths[i]);
+					}
+				}
+				return sum;
+			}
+		});
+		cases.add(new Case("numbersjdk", false) {
+			long run(char[] script) {
+				long sum = 0;
+				for (int i = 0; i < numbers.count; ++i) {
+					String s = new String(numbers.text, numbers.starts[i], numbers.lengths[i]);
+					if (numbers.real[i]) {
+						sum += (long) Double.parseDouble(s);
+					} else {
+						sum += Integer.parseInt(s);
+					}
+				}
+				return sum;
+			}
+		});
+		cases.add(new Case("grammar", false) {
+			long run(char[] script) {
+				long hash = 0;
+				for (int i = 0; i < commandLines.length; ++i) {
+					hash += System.identityHashCode(grammar.parser(commandLines[i]).getParsedRule());
+				}
+				return hash;
+			}
+		});
+		return cases;
+	}
+
+	/**
+	 * Integers of up to 9 digits, which Integer.parseInt accepts, and reals
+	 * with one dot, stored one after another in text.
+	 */
+	private static class Numbers {
+
+		final int count;
+		final char[] text;
+		final int[] starts;
+		final int[] lengths;
+		final boolean[] real;
+
+		Numbers(int count) {
+			Random random = new Random(42);
+			StringBuilder builder = new StringBuilder();
+			this.count = count;
+			starts = new int[count];
+			lengths = new int[count];
+			real = new boolean[count];
+			for (int i = 0; i < count; ++i) {
+				starts[i] = builder.length();
+				real[i] = random.nextBoolean();
+				builder.append(random.nextInt(1000000000) >> random.nextInt(30));
+				if (real[i]) {
+					builder.append('.').append(random.nextInt(100000));
+				}
+				lengths[i] = builder.length() - starts[i];
+			}
+			text = new char[builder.length()];
+			builder.getChars(0, text.length, text, 0);
+		}
+	}
+
+	private static void measure(Case c, char[] script, int warmup, int iterations) throws IOException {
+		long sink = 0;
+		for (int i = 0; i < warmup; ++i) {
+			sink += c.run(script);
+		}
+		long[] times = new long[iterations];
+		long allocated = 0;
+		for (int i = 0; i < iterations; ++i) {
+			long allocatedBefore = allocatedBytes();
+			long start = System.nanoTime();
+			sink += c.run(script);
+			times[i] = System.nanoTime() - start;
+			allocated += allocatedBytes() - allocatedBefore;
+		}
+		Arrays.sort(times);
+		long total = 0;
+		for (int i = 0; i < times.length; ++i) {
+			total += times[i];
+		}
+		boolean measuresAllocation = allocatedBytes() >= 0 && !c.name.equals("parallel");
+		System.out.println(String.format("%-10s %10.1f %10s %14s %10.3f %10.3f %10.3f %10.3f",
+				c.name,
+				iterations * 1e9 / total,
+				c.scansScript ? String.format("%.1f", (double) script.length * iterations / total * 1000) : "n/a",
+				measuresAllocation ? String.valueOf(allocated / iterations) : "n/a",
+				percentile(times, 50), percentile(times, 90), percentile(times, 99),
+				times[times.length - 1] / 1e6));
+		if (sink == 42) {
+			System.out.println();
+		}
+	}
+
+	private static double percentile(long[] sorted, int percent) {
+		int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Grammar with a rule for every combination of modifiers of every command.
+	 */
+	private static SimpleGrammar grammar() {
+		Option[] commands = {Command.ISSUE, Command.GET_PROJECT, Command.LOGIN, Command.EDIT_ISSUE};
+		Option[] modifiers = new Option[GRAMMAR_MODIFIERS];
+		for (int i = 0; i < modifiers.length; ++i) {
+			modifiers[i] = i % 2 == 0 ? Command.GET_SUMMARY : Command.GET_WATCHERS;
+		}
+		SimpleGrammar grammar = new SimpleGrammar();
+		for (int c = 0; c < commands.length; ++c) {
+			for (int mask = 0; mask < 1 << modifiers.length; ++mask) {
+				Object[] right = new Object[Integer.bitCount(mask)];
+				for (int i = 0, j = 0; i < modifiers.length; ++i) {
+					if ((mask & 1 << i) != 0) {
+						right[j++] = modifiers[i];
+					}
+				}
+				grammar.addRule(new Rule(commands[c], right));
+			}
+		}
+		return grammar;
+	}
+
+	private static CommandLine[] commandLines() {
+		String[][] argvs = {
+				{"-i", "JRA-1"},
+				{"-i", "JRA-1", "-s"},
+				{"-i", "JRA-1", "-s", "-w"},
+				{"-getProject", "JRA"},
+				{"-l", "server", "login", "password"}};
+		Options options = Command.newOptions();
+		CommandLine[] commandLines = new CommandLine[argvs.length];
+		try {
+			for (int i = 0; i < argvs.length; ++i) {
+				commandLines[i] = new PosixParser().parse(options, argvs[i]);
+			}
+		} catch (ParseException parseException) {
+			throw new IllegalStateException(parseException);
+		}
+		return commandLines;
+	}
+
+	private static int intOption(CommandLine commandLine, String name, int defaultValue) {
+		return commandLine.hasOption(name) ? Integer.parseInt(commandLine.getOptionValue(name)) : defaultValue;
+	}
+}
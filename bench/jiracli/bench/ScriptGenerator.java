@@ -0,0 +1,72 @@
+package jiracli.bench;
+
+import java.util.Random;
+
+/**
+ * Author: sphinks
+ * File: ScriptGenerator.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Generates command scripts for benchmarks. Every line is an issue command
+ * followed by a random mix of words, quoted strings, numbers and operators;
+ * the share of each kind is given in percents, the rest are words.
+ */
+public class ScriptGenerator {
+
+	private final static String[] OPERATORS = {"<=", ">=", "<>", "<", ">", "=", "..", "|", ",", ":", ";", "-"};
+	private final static String[] WORDS = {"summary", "watchers", "project", "assignee", "status", "priority", "JRA", "open", "closed"};
+
+	private final Random random;
+	private final int stringPercent;
+	private final int numberPercent;
+	private final int operatorPercent;
+
+	public ScriptGenerator(long seed, int stringPercent, int numberPercent, int operatorPercent) {
+		if (stringPercent + numberPercent + operatorPercent > 100) {
+			throw new IllegalArgumentException("Mix of strings, numbers and operators exceeds 100%");
+		}
+		this.random = new Random(seed);
+		this.stringPercent = stringPercent;
+		this.numberPercent = numberPercent;
+		this.operatorPercent = operatorPercent;
+	}
+
+	/**
+	 * @param size approximate script length in characters
+	 */
+	public char[] generate(int size) {
+		StringBuilder script = new StringBuilder(size + 128);
+		while (script.length() < size) {
+			script.append("issue JRA-").append(random.nextInt(100000));
+			int tokens = 2 + random.nextInt(10);
+			for (int i = 0; i < tokens; ++i) {
+				script.append(' ');
+				appendToken(script);
+			}
+			script.append('\n');
+		}
+		char[] result = new char[script.length()];
+		script.getChars(0, script.length(), result, 0);
+		return result;
+	}
+
+	private void appendToken(StringBuilder script) {
+		int kind = random.nextInt(100);
+		if (kind < stringPercent) {
+			script.append('"').append(WORDS[random.nextInt(WORDS.length)]).append(' ')
+				.append(WORDS[random.nextInt(WORDS.length)]).append('"');
+		} else if (kind < stringPercent + numberPercent) {
+			if (random.nextBoolean()) {
+				script.append(random.nextInt(1000000));
+			} else {
+				script.append(random.nextInt(1000)).append('.').append(random.nextInt(100));
+			}
+		} else if (kind < stringPercent + numberPercent + operatorPercent) {
+			script.append(OPERATORS[random.nextInt(OPERATORS.length)]);
+		} else {
+			script.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+	}
+}
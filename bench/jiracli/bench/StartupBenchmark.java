@@ -0,0 +1,101 @@
+package jiracli.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.cli.PosixParser;
+
+/**
+ * Author: sphinks
+ * File: StartupBenchmark.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Cold start benchmark of jira-cli. Starts a new JVM for every run of the
+ * command given after "--" and records the time to the first byte of output
+ * and to the exit of the process. Runs without class data sharing, with the
+ * JDK's default archive and, when -archive is given, with the AppCDS archive
+ * built by scripts/build-cds.sh. The classpath has to be the one the archive
+ * was dumped with, as printed by scripts/classpath.sh in APP_CP.
+ */
+public class StartupBenchmark {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Options options = new Options();
+		options.addOption(new Option("classpath", true, "Classpath of the measured JVM (default this JVM's)"));
+		options.addOption(new Option("archive", true, "AppCDS archive to compare with"));
+		options.addOption(new Option("runs", true, "Runs per case (default 10)"));
+		options.addOption(new Option("h", "help", false, "Show help"));
+		CommandLine commandLine;
+		try {
+			commandLine = new PosixParser().parse(options, args);
+		} catch (ParseException parseException) {
+			System.err.println(parseException.getMessage());
+			return;
+		}
+		if (commandLine.hasOption("h")) {
+			new HelpFormatter().printHelp("java jiracli.bench.StartupBenchmark [options] -- <jira-cli arguments>", options);
+			return;
+		}
+		String classpath = commandLine.getOptionValue("classpath", System.getProperty("java.class.path"));
+		int runs = commandLine.hasOption("runs") ? Integer.parseInt(commandLine.getOptionValue("runs")) : 10;
+		String[] command = commandLine.getArgs().length > 0 ? commandLine.getArgs() : new String[] {"-h"};
+
+		System.out.println("command: " + Arrays.toString(command));
+		System.out.println(String.format("%-10s %14s %14s %10s %10s",
+				"case", "p50 first ms", "p50 exit ms", "min ms", "max ms"));
+		measure("no-cds", new String[] {"-Xshare:off"}, classpath, command, runs);
+		measure("jdk-cds", new String[] {"-Xshare:auto"}, classpath, command, runs);
+		if (commandLine.hasOption("archive")) {
+			measure("app-cds", new String[] {"-Xshare:auto", "-XX:SharedArchiveFile=" + commandLine.getOptionValue("archive")},
+					classpath, command, runs);
+		}
+	}
+
+	private static void measure(String name, String[] jvmOptions, String classpath, String[] command, int runs)
+			throws IOException, InterruptedException {
+		List<String> processCommand = new ArrayList<String>();
+		processCommand.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		processCommand.addAll(Arrays.asList(jvmOptions));
+		processCommand.add("-cp");
+		processCommand.add(classpath);
+		processCommand.add("jiracli.common.JiraClientMainClass");
+		processCommand.addAll(Arrays.asList(command));
+
+		long[] first = new long[runs];
+		long[] exit = new long[runs];
+		byte[] buffer = new byte[8192];
+		for (int i = 0; i < runs; ++i) {
+			ProcessBuilder builder = new ProcessBuilder(processCommand);
+			builder.redirectErrorStream(true);
+			long start = System.nanoTime();
+			Process process = builder.start();
+			InputStream output = process.getInputStream();
+			first[i] = -1;
+			while (output.read(buffer) >= 0) {
+				if (first[i] < 0) {
+					first[i] = System.nanoTime() - start;
+				}
+			}
+			process.waitFor();
+			exit[i] = System.nanoTime() - start;
+			if (first[i] < 0) {
+				first[i] = exit[i];
+			}
+		}
+		Arrays.sort(first);
+		Arrays.sort(exit);
+		System.out.println(String.format("%-10s %14.1f %14.1f %10.1f %10.1f",
+				name, first[runs / 2] / 1e6, exit[runs / 2] / 1e6, exit[0] / 1e6, exit[runs - 1] / 1e6));
+	}
+}
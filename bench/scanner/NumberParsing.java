@@ -0,0 +1,25 @@
+/**
+ * Author: sphinks
+ * File: NumberParsing.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+/**
+ * Access to the number parsing of NumberPattern for benchmarks outside of the
+ * scanner package.
+ */
+public final class NumberParsing {
+
+	private NumberParsing() {
+	}
+
+	public static long parseLong(char[] in, int start, int length) {
+		return NumberPattern.parseLong(in, start, length);
+	}
+
+	public static double parseReal(char[] in, int start, int length) {
+		return NumberPattern.parseReal(in, start, length);
+	}
+}
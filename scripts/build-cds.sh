@@ -0,0 +1,12 @@
+#!/bin/sh
+# Build build/jira-cli.jar and the AppCDS archive build/jira-cli.jsa from a
+# training run of typical commands. Rerun after changing sources or lib/.
+set -e
+cd "$(dirname "$0")/.."
+. scripts/classpath.sh
+rm -rf build/classes build/jira-cli.jsa
+mkdir -p build/classes
+javac -nowarn -d build/classes -cp "$LIB_CP" $(find src tools -name '*.java')
+jar cf build/jira-cli.jar -C build/classes .
+java -XX:ArchiveClassesAtExit=build/jira-cli.jsa -cp "$APP_CP" jiracli.tools.CdsTraining > build/training.log 2>&1
+echo "Archive written to build/jira-cli.jsa"
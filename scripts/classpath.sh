@@ -0,0 +1,6 @@
+# Classpath shared by build-cds.sh and jira-cli, run from the project
+# directory. An AppCDS archive is only used when the classpath matches the
+# one it was dumped with, so both scripts take it from here.
+LIB_CP=$(find "$PWD/lib" -name '*.jar' ! -name '*-sources.jar' ! -name '*-javadoc.jar' | LC_ALL=C sort | tr '\n' ':')
+LIB_CP=${LIB_CP%:}
+APP_CP="$PWD/build/jira-cli.jar:$LIB_CP"
@@ -1,4 +1,10 @@
 package jiracli.actions;
+import java.util.Arrays;
+
+import jiracli.common.Command;
+import jiracli.common.JiraClient;
+import jiracli.common.RequestExecutor;
+
 import com.atlassian.jira.rest.client.JiraRestClient;
 import com.atlassian.jira.rest.client.NullProgressMonitor;
 import org.apache.commons.cli.Option;
@@ -12,5 +18,36 @@ public abstract class CommandAction {
 	protected final NullProgressMonitor pm = new NullProgressMonitor();
 	
 	public abstract String action(Option[] options, JiraRestClient restClient);
+	
+	/**
+	 * Run the action with the client of a session. Actions which need more
+	 * than the REST client override this one.
+	 */
+	public String action(Option[] options, JiraClient client) {
+		return action(options, client.getRestClient());
+	}
+	
+	/**
+	 * @return executor for independent requests, limited by --parallelism
+	 */
+	protected static RequestExecutor executor(Option[] options) {
+		for (Option option : options) {
+			if (option.equals(Command.PARALLELISM)) {
+				try {
+					return new RequestExecutor(Integer.parseInt(option.getValue()));
+				} catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("--parallelism expects a number: " + option.getValue());
+				}
+			}
+		}
+		return new RequestExecutor(RequestExecutor.DEFAULT_PARALLELISM);
+	}
+	
+	/**
+	 * @return true if --timing asks for request latencies after the output
+	 */
+	protected static boolean isTiming(Option[] options) {
+		return Arrays.asList(options).contains(Command.TIMING);
+	}
 
 }
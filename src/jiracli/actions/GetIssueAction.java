@@ -1,13 +1,28 @@
 package jiracli.actions;
 
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import jiracli.common.Command;
+import jiracli.common.IssueSearchClient;
+import jiracli.common.JiraClient;
+import jiracli.common.RequestExecutor;
 
 import org.apache.commons.cli.Option;
 import com.atlassian.jira.rest.client.JiraRestClient;
+import com.atlassian.jira.rest.client.RestClientException;
 import com.atlassian.jira.rest.client.domain.BasicWatchers;
 import com.atlassian.jira.rest.client.domain.Issue;
 
@@ -32,24 +47,147 @@ public class GetIssueAction extends CommandAction {
 		Option option = options[0];
 		String[] arguments = option.getValues();
 		List<Option> optList = Arrays.asList(options);
-		Issue issue;
-		String result = "";
 		
 		if (arguments.length > 0) {
-			issue = restClient.getIssueClient().getIssue(arguments[0], pm);
-			result = "Issue: " + issue.getKey() + " (" + issue.getSelf().toString() + ")\r\n";
-			if (optList.contains(Command.GET_SUMMARY)) {
-				result += "Summary: " + issue.getSummary() + "\r\n";
-				result += "Transaction URI: " + issue.getTransitionsUri() + "\r\n";
+			return describe(restClient.getIssueClient().getIssue(arguments[0], pm), optList);
+		}else{
+			return "Error: specify name of looking issue.";
+		}
+	}
+	
+	/**
+	 * Arguments of -i are issue keys, @file to read keys from a file or - to
+	 * read them from standard input. More than one key is fetched with
+	 * search requests of IssueSearchClient.CHUNK_SIZE keys, or with a request
+	 * per key run by RequestExecutor when the server cannot search.
+	 */
+	@Override
+	public String action(Option[] options, JiraClient client) {
+		List<Option> optList = Arrays.asList(options);
+		Set<String> keys;
+		try {
+			keys = readKeys(options[0].getValues(), System.in);
+		} catch (IOException ex) {
+			return "Error: cannot read issue keys: " + ex.getMessage();
+		}
+		if (keys.isEmpty()) {
+			return "Error: specify name of looking issue.";
+		}
+		if (keys.size() == 1) {
+			return describe(client.getRestClient().getIssueClient().getIssue(keys.iterator().next(), pm), optList);
+		}
+		List<String> fields = new ArrayList<String>();
+		if (optList.contains(Command.GET_SUMMARY)) {
+			fields.add(IssueSearchClient.SUMMARY_FIELD);
+		}
+		if (optList.contains(Command.GET_WATCHERS)) {
+			fields.add(IssueSearchClient.WATCHES_FIELD);
+		}
+		Map<String, IssueSearchClient.FoundIssue> issues;
+		try {
+			issues = client.getIssueSearchClient().getIssues(keys, fields, pm);
+		} catch (RestClientException ex) {
+			if (!IssueSearchClient.isSearchUnsupported(ex)) {
+				throw ex;
 			}
-			if (optList.contains(Command.GET_WATCHERS)) {
-				BasicWatchers bw = issue.getWatchers();
-				result += "Watchers: " + bw.getNumWatchers() + "\r\n" + "Watch: " + bw.isWatching() + "\r\n";
+			// Servers before JIRA 5 cannot search with fields, fetch each issue
+			return getEach(keys, optList, client, executor(options), isTiming(options));
+		}
+		StringBuilder result = new StringBuilder();
+		for (String key : keys) {
+			IssueSearchClient.FoundIssue issue = issues.get(key.toUpperCase());
+			if (issue == null) {
+				result.append("Error: issue ").append(key).append(" not found\r\n");
+			} else {
+				result.append(describe(issue.getKey(), issue.getSelf(), issue.getSummary(),
+						issue.getTransitionsUri(), issue.getWatchers(), optList));
+			}
+		}
+		return result.toString();
+	}
+	
+	private String getEach(Set<String> keys, List<Option> optList, JiraClient client, RequestExecutor executor, boolean timing) {
+		final JiraRestClient restClient = client.getRestClient();
+		List<Callable<Issue>> requests = new ArrayList<Callable<Issue>>(keys.size());
+		for (final String key : keys) {
+			requests.add(new Callable<Issue>() {
+				public Issue call() {
+					return restClient.getIssueClient().getIssue(key, pm);
+				}
+			});
+		}
+		List<RequestExecutor.Response<Issue>> responses = executor.invokeAll(requests);
+		StringBuilder result = new StringBuilder();
+		int i = 0;
+		for (String key : keys) {
+			RequestExecutor.Response<Issue> response = responses.get(i++);
+			if (response.getError() != null) {
+				result.append("Error: issue ").append(key).append(": ").append(response.getError().getMessage()).append("\r\n");
+			} else {
+				result.append(describe(response.getValue(), optList));
+			}
+		}
+		if (timing) {
+			result.append(executor.report(new ArrayList<String>(keys), responses)).append(client.getTransport().report());
+		}
+		return result.toString();
+	}
+	
+	private static String describe(Issue issue, List<Option> optList) {
+		return describe(issue.getKey(), issue.getSelf(), issue.getSummary(),
+				issue.getTransitionsUri(), issue.getWatchers(), optList);
+	}
+	
+	private static String describe(String key, URI self, String summary, URI transitionsUri,
+			BasicWatchers bw, List<Option> optList) {
+		String result = "Issue: " + key + " (" + self.toString() + ")\r\n";
+		if (optList.contains(Command.GET_SUMMARY)) {
+			result += "Summary: " + summary + "\r\n";
+			result += "Transaction URI: " + transitionsUri + "\r\n";
+		}
+		if (optList.contains(Command.GET_WATCHERS) && bw != null) {
+			result += "Watchers: " + bw.getNumWatchers() + "\r\n" + "Watch: " + bw.isWatching() + "\r\n";
+		}
+		return result;
+	}
+	
+	/**
+	 * @return keys in the order given, without duplicates. Keys in files and
+	 *    on standard input are separated by white space or commas.
+	 */
+	static Set<String> readKeys(String[] arguments, InputStream stdin) throws IOException {
+		Set<String> keys = new LinkedHashSet<String>();
+		if (arguments == null) {
+			return keys;
+		}
+		for (String argument : arguments) {
+			if (argument.equals("-")) {
+				addKeys(new BufferedReader(new InputStreamReader(stdin)), keys);
+			} else if (argument.startsWith("@")) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(argument.substring(1))));
+				try {
+					addKeys(reader, keys);
+				} finally {
+					reader.close();
+				}
+			} else {
+				addKeys(argument, keys);
+			}
+		}
+		return keys;
+	}
+	
+	private static void addKeys(BufferedReader reader, Set<String> keys) throws IOException {
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			addKeys(line, keys);
+		}
+	}
+	
+	private static void addKeys(String text, Set<String> keys) {
+		for (String key : text.split("[\\s,]+")) {
+			if (key.length() > 0) {
+				keys.add(key);
 			}
-			return result;
-		}else{
-			result = "Error: specify name of looking issue.";
-			return result;
 		}
 	}
 
@@ -1,6 +1,13 @@
 package jiracli.actions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import jiracli.common.JiraClient;
+import jiracli.common.RequestExecutor;
 
 import org.apache.commons.cli.Option;
 
@@ -42,5 +49,41 @@ public class GetProjectAction extends CommandAction {
 			return result;
 		}
 	}
+	
+	/**
+	 * Several project names are fetched at once by RequestExecutor, results
+	 * are printed in the order of the names.
+	 */
+	@Override
+	public String action(Option[] options, JiraClient client) {
+		String[] arguments = options[0].getValues();
+		if (arguments.length < 2) {
+			return action(options, client.getRestClient());
+		}
+		final JiraRestClient restClient = client.getRestClient();
+		RequestExecutor executor = executor(options);
+		List<Callable<BasicProject>> requests = new ArrayList<Callable<BasicProject>>(arguments.length);
+		for (final String name : arguments) {
+			requests.add(new Callable<BasicProject>() {
+				public BasicProject call() {
+					return restClient.getProjectClient().getProject(name, pm);
+				}
+			});
+		}
+		List<RequestExecutor.Response<BasicProject>> responses = executor.invokeAll(requests);
+		String result = "";
+		for (RequestExecutor.Response<BasicProject> response : responses) {
+			if (response.getError() != null) {
+				result += "Error: " + response.getError().getMessage() + "\r\n";
+			} else {
+				BasicProject bp = response.getValue();
+				result += bp.getKey() + " (" + bp.getSelf().toString() + ")\r\n";
+			}
+		}
+		if (isTiming(options)) {
+			result += executor.report(Arrays.asList(arguments), responses) + client.getTransport().report();
+		}
+		return result;
+	}
 
 }
@@ -0,0 +1,189 @@
+package jiracli.actions;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import jiracli.common.Command;
+import jiracli.common.JiraCli;
+import jiracli.common.JiraClient;
+import jiracli.common.ParsedCommand;
+
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.ParseException;
+
+import parser.CommandNode;
+import parser.ConditionNode;
+import parser.KeyNode;
+import parser.ModifierNode;
+import parser.Node;
+import parser.PackratParser;
+import parser.PipelineNode;
+import parser.RangeNode;
+import parser.ScriptNode;
+import parser.ValueNode;
+import scanner.IntegerToken;
+import scanner.LexemeToken;
+import scanner.Scanner;
+import scanner.Token;
+import scanner.TokenKind;
+
+import com.atlassian.jira.rest.client.JiraRestClient;
+
+/**
+ * Author: sphinks
+ * File: ScriptAction.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Runs the commands of a script file, like
+ * <pre>
+ * issue JRA-1 JRA-7 -s; issue JRA-10..JRA-15 -w
+ * </pre>
+ * The script is scanned and parsed with PackratParser and every command is
+ * turned into the arguments of the matching option, so it is checked and
+ * run like the same command given on the command line.
+ */
+public class ScriptAction extends CommandAction {
+
+	/** Keys a range may expand to. */
+	public final static int MAX_RANGE = 1000;
+
+	@Override
+	public String action(Option[] options, JiraRestClient restClient) {
+		return "Error: scripts run with a client session only.";
+	}
+
+	@Override
+	public String action(Option[] options, JiraClient client) {
+		String file = options[0].getValue();
+		List<String[]> commands;
+		try {
+			commands = commands(read(file));
+		} catch (IOException ex) {
+			return "Error: cannot read script: " + ex.getMessage();
+		} catch (IllegalArgumentException ex) {
+			return "Error: " + file + ": " + ex.getMessage();
+		}
+		StringBuilder result = new StringBuilder();
+		for (String[] arguments : commands) {
+			ParsedCommand command;
+			try {
+				command = JiraCli.commandCache.parse(arguments);
+			} catch (ParseException ex) {
+				return result.append("Error: ").append(file).append(": ").append(ex.getMessage()).toString();
+			}
+			result.append(client.performCommand(command));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * @return command line arguments of every command of the script
+	 * @throws IllegalArgumentException if the script cannot be parsed or
+	 *    uses something the command line has no option for
+	 */
+	static List<String[]> commands(char[] script) {
+		Token[] tokens = new Scanner().scan(script);
+		if (tokens == null) {
+			throw new IllegalArgumentException("unknown characters in script");
+		}
+		PackratParser parser = new PackratParser();
+		ScriptNode tree = parser.parse(tokens);
+		if (tree == null) {
+			throw new IllegalArgumentException("syntax error at token " + (parser.getErrorPosition() + 1));
+		}
+		List<String[]> commands = new ArrayList<String[]>();
+		for (PipelineNode pipeline : tree.getPipelines()) {
+			if (pipeline.getCommands().size() > 1) {
+				throw new IllegalArgumentException("commands cannot be piped yet: " + pipeline);
+			}
+			commands.add(arguments(pipeline.getCommands().get(0)));
+		}
+		return commands;
+	}
+
+	private static String[] arguments(CommandNode command) {
+		List<String> arguments = new ArrayList<String>();
+		List<String> modifiers = new ArrayList<String>();
+		if (command.getCommand() != TokenKind.COMMAND_ISSUE) {
+			throw new IllegalArgumentException("unknown command: " + command.getCommand());
+		}
+		arguments.add("-" + Command.ISSUE.getOpt());
+		for (Node argument : command.getArguments()) {
+			if (argument instanceof ModifierNode) {
+				modifiers.add("-" + ((ModifierNode) argument).getName());
+			} else if (argument instanceof RangeNode) {
+				addRange((RangeNode) argument, arguments);
+			} else if (argument instanceof ConditionNode) {
+				throw new IllegalArgumentException("conditions are not supported: " + argument);
+			} else {
+				arguments.add(text(argument));
+			}
+		}
+		arguments.addAll(modifiers);
+		return arguments.toArray(new String[arguments.size()]);
+	}
+
+	/**
+	 * Keys of one project, JRA-8..JRA-10 gives JRA-8, JRA-9 and JRA-10.
+	 * Numbers are as wide as the first one, so JRA-007..JRA-009 keeps zeros.
+	 */
+	private static void addRange(RangeNode range, List<String> arguments) {
+		if (!(range.getFrom() instanceof KeyNode) || !(range.getTo() instanceof KeyNode)) {
+			throw new IllegalArgumentException("only issue keys make a range: " + range);
+		}
+		KeyNode from = (KeyNode) range.getFrom();
+		KeyNode to = (KeyNode) range.getTo();
+		long first = Long.parseLong(from.getNumber());
+		long last = Long.parseLong(to.getNumber());
+		if (!from.getProject().equalsIgnoreCase(to.getProject()) || last < first || last - first >= MAX_RANGE) {
+			throw new IllegalArgumentException("range must be up to " + MAX_RANGE + " keys of one project: " + range);
+		}
+		String format = "%s-%0" + from.getNumber().length() + "d";
+		for (long n = first; n <= last; ++n) {
+			arguments.add(String.format(format, from.getProject(), n));
+		}
+	}
+
+	private static String text(Node argument) {
+		if (argument instanceof KeyNode) {
+			return argument.toString();
+		}
+		Token token = ((ValueNode) argument).getToken();
+		if (token.getKind() == TokenKind.STRING_LITERAL) {
+			String value = ((LexemeToken) token).getValue();
+			if (value.length() < 2 || !value.endsWith("\"")) {
+				throw new IllegalArgumentException("string is not closed: " + value);
+			}
+			return value.substring(1, value.length() - 1);
+		}
+		if (token instanceof LexemeToken) {
+			return ((LexemeToken) token).getValue();
+		}
+		if (token instanceof IntegerToken) {
+			return ((IntegerToken) token).getText();
+		}
+		throw new IllegalArgumentException("not an issue key: " + token);
+	}
+
+	private static char[] read(String file) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+		try {
+			StringBuilder text = new StringBuilder();
+			char[] buffer = new char[4096];
+			for (int n; (n = reader.read(buffer)) > 0; ) {
+				text.append(buffer, 0, n);
+			}
+			char[] script = new char[text.length()];
+			text.getChars(0, script.length, script, 0);
+			return script;
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -1,14 +1,21 @@
 package jiracli.common;
-import java.util.HashMap;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import jiracli.actions.CommandAction;
 import jiracli.actions.EditIssueAction;
 import jiracli.actions.GetIssueAction;
 import jiracli.actions.GetProjectAction;
 import jiracli.actions.LoginAction;
+import jiracli.actions.ScriptAction;
 
+import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
 
 /**
  * Author: Zerin_IS
@@ -23,15 +30,31 @@ public class Command {
 	public final static Option HELP = initHelpOption();
 	public final static Option GET_PROJECT = initGetProjectOption();
 	public final static Option EDIT_ISSUE = initEditIssueOption();
+	public final static Option SCRIPT = initScriptOption();
 	
 	public final static Option GET_SUMMARY = initSummaryOption();
 	public final static Option GET_WATCHERS = initWatcherOption();
 
 
-	public final static HashMap<String, Option> commands = new HashMap<String, Option>();
-	public final static HashMap<String, CommandAction> action = new HashMap<String, CommandAction>();
+	public final static Option BLOCK_SIZE = initBlockSizeOption();
+	public final static Option PARALLELISM = initParallelismOption();
+	public final static Option TIMING = initTimingOption();
 
-	static {
+	/**
+	 * Registry built once when the class is loaded and never changed after,
+	 * so threads running commands read it without locking. Parsers clear the
+	 * values of every option they are given, so OPTIONS is only for help
+	 * text and each parse takes its own copy from newOptions().
+	 */
+	public final static Map<String, Option> commands = initCommands();
+	public final static Map<String, CommandAction> action = initActions();
+	public final static Options OPTIONS = initOptions();
+	
+	public final static String HELP_TEXT = formatHelp("Options", "-- HELP --");
+	public final static String USAGE_TEXT = formatHelp("Start of help", "End of Help");
+	
+	private static Map<String, Option> initCommands() {
+		Map<String, Option> commands = new LinkedHashMap<String, Option>();
 		commands.put(ISSUE.getOpt(), ISSUE);
 		commands.put(LOGIN.getOpt(), LOGIN);
 		commands.put(HELP.getOpt(), HELP);
@@ -39,19 +62,55 @@ public class Command {
 		commands.put(GET_SUMMARY.getOpt(), GET_SUMMARY);
 		commands.put(GET_WATCHERS.getOpt(), GET_WATCHERS);
 		commands.put(EDIT_ISSUE.getOpt(), EDIT_ISSUE);
-		
-		
+		commands.put(SCRIPT.getOpt(), SCRIPT);
+		return Collections.unmodifiableMap(commands);
+	}
+	
+	private static Map<String, CommandAction> initActions() {
+		Map<String, CommandAction> action = new LinkedHashMap<String, CommandAction>();
 		action.put(LOGIN.getOpt(), new LoginAction());
 		action.put(ISSUE.getOpt(), new GetIssueAction());
 		//action.put(HELP.getOpt(), new HelpAction()); Not used at now
 		action.put(GET_PROJECT.getOpt(), new GetProjectAction());
 		action.put(EDIT_ISSUE.getOpt(), new EditIssueAction());
+		action.put(SCRIPT.getOpt(), new ScriptAction());
+		return Collections.unmodifiableMap(action);
+	}
+	
+	private static Options initOptions() {
+		Options options = new Options();
+		for (Option option : commands.values()) {
+			options.addOption(option);
+		}
+		options.addOption(BLOCK_SIZE);
+		options.addOption(PARALLELISM);
+		options.addOption(TIMING);
+		return options;
+	}
+	
+	/**
+	 * @return copy of OPTIONS for one parse, its options are not shared
+	 */
+	public static Options newOptions() {
+		Options options = new Options();
+		for (Object option : OPTIONS.getOptions()) {
+			options.addOption((Option) ((Option) option).clone());
+		}
+		return options;
+	}
+	
+	private static String formatHelp(String header, String footer) {
+		StringWriter help = new StringWriter();
+		PrintWriter writer = new PrintWriter(help);
+		new HelpFormatter().printHelp(writer, 80, "java -cp jira-cli.jar", header, OPTIONS, 3, 5, footer, true);
+		writer.flush();
+		return help.toString();
 	}
 	
 	private static Option initIssueOption() {
-		Option option = new Option("i", "issue", true, "Show issue");
-		option.setArgs(1);
-		option.setArgName("action");
+		Option option = new Option("i", "issue", true, "Show issues by keys, @file with keys or - for stdin");
+		option.setArgs(Option.UNLIMITED_VALUES);
+		option.setArgName("keys");
 		return option;
 	}
 	
@@ -72,6 +131,12 @@ public class Command {
 		return option;*/
 	}
 	
+	private static Option initScriptOption() {
+		Option option = new Option("x", "script", true, "Run commands of a script file, like issue JRA-1..JRA-5 -s");
+		option.setArgName("file");
+		return option;
+	}
+	
 	private static Option initLoginOption() {
 		Option option = new Option("l", "login", true, "Login");
 		option.setArgs(3);
@@ -81,13 +146,36 @@ public class Command {
 	}
 	
 	private static Option initGetProjectOption() {		
-		Option option = new Option("getProject", true, "Get project by name");
-		option.setArgs(1);
+		Option option = new Option("getProject", true, "Get projects by names");
+		option.setArgs(Option.UNLIMITED_VALUES);
 		option.setOptionalArg(false);
 		option.setArgName("[name] | [-a]");
 		return option;
 	}
 	
+	private static Option initBlockSizeOption() {
+		return OptionBuilder.withLongOpt( "block-size" )
+		.withDescription( "use SIZE-byte blocks" )
+		.hasArg()
+		.withArgName("SIZE")
+		.create();
+	}
+	
+	private static Option initParallelismOption() {
+		return OptionBuilder.withLongOpt( "parallelism" )
+		.withDescription( "run up to N requests of a command at once (default "
+				+ RequestExecutor.DEFAULT_PARALLELISM + ")" )
+		.hasArg()
+		.withArgName("N")
+		.create();
+	}
+	
+	private static Option initTimingOption() {
+		return OptionBuilder.withLongOpt( "timing" )
+		.withDescription( "print latency of every request and connection counts after the output" )
+		.create();
+	}
+	
 	private static Option initHelpOption() {
 		Option option = new Option("h", "help", false, "Show help");
 		option.setArgs(0);
@@ -0,0 +1,135 @@
+package jiracli.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.cli.PosixParser;
+
+/**
+ * Author: sphinks
+ * File: CommandCache.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Least recently used cache from argument vectors to parsed commands. A
+ * process running many commands, such as a batch or a daemon, parses each
+ * distinct argument vector once. The key is the exact vector, so a hit returns
+ * what parsing the same arguments gives. Vectors which fail to parse, or whose
+ * options match no rule of the command grammar, are not cached.
+ */
+public class CommandCache {
+
+	public final static int DEFAULT_CAPACITY = 64;
+
+	private final static Grammar GRAMMAR = new CompiledCommandGrammar();
+
+	private final Map<String, ParsedCommand> entries;
+	private int hits;
+	private int misses;
+
+	public CommandCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CommandCache(final int capacity) {
+		entries = new LinkedHashMap<String, ParsedCommand>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ParsedCommand> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * @return cached command for arguments, parsing them on a miss
+	 */
+	public ParsedCommand parse(String[] arguments) throws ParseException {
+		String key = key(arguments);
+		synchronized (this) {
+			ParsedCommand command = entries.get(key);
+			if (command != null) {
+				hits++;
+				return command;
+			}
+			misses++;
+		}
+		ParsedCommand command = parse(Command.newOptions(), arguments);
+		synchronized (this) {
+			entries.put(key, command);
+		}
+		return command;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private static ParsedCommand parse(Options options, String[] arguments) throws ParseException {
+		CommandLineParser parser = new PosixParser();
+		CommandLine commandLine = parser.parse(options, arguments);
+		ParsedCommand command = new ParsedCommand(commandLine.getOptions());
+		if (!command.isHelp() && GRAMMAR.parser(ruleOptions(command.getOptions())) instanceof FailedParserResult) {
+			throw new ParseException("No command takes options " + names(command.getOptions()) + ", see -h");
+		}
+		return command;
+	}
+
+	/**
+	 * Settings like --parallelism have no short name and are not part of
+	 * the grammar rules.
+	 */
+	private static Option[] ruleOptions(Option[] options) {
+		List<Option> ruleOptions = new ArrayList<Option>(options.length);
+		for (Option option : options) {
+			if (option.getOpt() != null) {
+				ruleOptions.add(option);
+			}
+		}
+		return ruleOptions.toArray(new Option[ruleOptions.size()]);
+	}
+
+	/**
+	 * Names only, values may hold a password.
+	 */
+	private static String names(Option[] options) {
+		StringBuilder b = new StringBuilder();
+		for (Option option : options) {
+			b.append(b.length() > 0 ? " " : "").append(option.getOpt() != null ? "-" + option.getOpt() : "--" + option.getLongOpt());
+		}
+		return b.toString();
+	}
+
+	/**
+	 * Every argument prefixed with its length, so distinct vectors never share
+	 * a key whatever characters the arguments hold.
+	 */
+	private static String key(String[] arguments) {
+		StringBuilder key = new StringBuilder();
+		for (String argument : arguments) {
+			key.append(argument.length()).append(':').append(argument);
+		}
+		return key.toString();
+	}
+}
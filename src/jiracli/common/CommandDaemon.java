@@ -0,0 +1,200 @@
+package jiracli.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.URISyntaxException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Author: sphinks
+ * File: CommandDaemon.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Long running process which holds one JiraClient and runs commands sent by
+ * DaemonClient over a Unix domain socket. JVM start, class loading and REST
+ * client creation are paid once when the daemon starts instead of on every
+ * command. Output of a command is sent back while it is written. The socket
+ * is created in a directory only its owner can access, connections from
+ * other users are refused, and the socket is removed when the daemon exits.
+ */
+public class CommandDaemon {
+
+	public final static int DEFAULT_WORKERS = 8;
+
+	private final Path socket;
+	private final JiraClient client;
+	private final ExecutorService workers;
+
+	public CommandDaemon(Path socket, JiraClient client, int workers) {
+		this.socket = socket;
+		this.client = client;
+		this.workers = Executors.newFixedThreadPool(workers);
+	}
+
+	/**
+	 * Accept connections until the process is stopped.
+	 */
+	public void serve() throws IOException {
+		checkSocket();
+		Files.deleteIfExists(socket);
+		ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		server.bind(UnixDomainSocketAddress.of(socket));
+		try {
+			Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+		} catch (UnsupportedOperationException ex) {
+			// File system without POSIX permissions
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				try {
+					Files.deleteIfExists(socket);
+				} catch (IOException ex) {
+					// Nothing to do while exiting
+				}
+			}
+		});
+		for (;;) {
+			final SocketChannel channel = server.accept();
+			workers.execute(new Runnable() {
+				public void run() {
+					handle(channel);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Create the directory of the socket, with access for its owner only,
+	 * when it is missing and refuse to listen where another user could reach
+	 * or replace the socket.
+	 */
+	void checkSocket() throws IOException {
+		Path directory = socket.toAbsolutePath().getParent();
+		if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+			try {
+				Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+			} catch (UnsupportedOperationException ex) {
+				// File system without POSIX permissions
+				Files.createDirectory(directory);
+			} catch (FileAlreadyExistsException ex) {
+				// Created meanwhile, checked below like any existing directory
+			}
+		}
+		DaemonClient.checkPrivate(socket);
+	}
+
+	private void handle(SocketChannel channel) {
+		try {
+			try {
+				DaemonClient.checkPeer(channel);
+				DataInputStream request = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+				String[] arguments = new String[request.readInt()];
+				for (int i = 0; i < arguments.length; ++i) {
+					arguments[i] = request.readUTF();
+				}
+				DataOutputStream response = new DataOutputStream(Channels.newOutputStream(channel));
+				PrintStream out = new PrintStream(new BufferedOutputStream(new FrameOutputStream(response, DaemonClient.OUT)), true);
+				PrintStream err = new PrintStream(new BufferedOutputStream(new FrameOutputStream(response, DaemonClient.ERR)), true);
+				int status = 0;
+				try {
+					new JiraCli(arguments, client, out, err);
+				} catch (Throwable ex) {
+					// Errors too, the client waits for the exit frame
+					err.println("Command failed: " + ex.toString());
+					status = 1;
+				}
+				out.flush();
+				err.flush();
+				response.writeByte(DaemonClient.EXIT);
+				response.writeInt(status);
+				response.flush();
+			} finally {
+				channel.close();
+			}
+		} catch (IOException ex) {
+			System.err.println("WARNING: Daemon connection failed: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Writes each chunk it is given as one response frame.
+	 */
+	private static class FrameOutputStream extends OutputStream {
+
+		private final DataOutputStream response;
+		private final byte kind;
+
+		FrameOutputStream(DataOutputStream response, byte kind) {
+			this.response = response;
+			this.kind = kind;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return;
+			}
+			synchronized (response) {
+				response.writeByte(kind);
+				response.writeInt(len);
+				response.write(b, off, len);
+				response.flush();
+			}
+		}
+	}
+
+	/**
+	 * Start a daemon on the given socket or on DaemonClient.defaultSocket().
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		Path socket = arguments.length > 0 ? Paths.get(arguments[0]) : DaemonClient.defaultSocket();
+		JiraClient client;
+		try {
+			client = JiraCli.createClient();
+			client.getRestClient();
+			// Load parser and command classes before the first request
+			JiraCli.commandCache.parse(new String[] {"-h"});
+		} catch (URISyntaxException ex) {
+			System.err.println("Incorrect URI: " + ex.toString());
+			return;
+		} catch (ParseException ex) {
+			throw new IllegalStateException(ex);
+		}
+		CommandDaemon daemon = new CommandDaemon(socket, client, DEFAULT_WORKERS);
+		try {
+			daemon.checkSocket();
+		} catch (IOException ex) {
+			System.err.println("Cannot listen on " + socket + ": " + ex.getMessage());
+			System.exit(1);
+		}
+		System.out.println("jira-cli daemon listening on " + socket);
+		daemon.serve();
+	}
+}
@@ -0,0 +1,44 @@
+package jiracli.common;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: sphinks
+ * File: CommandGrammar.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Rules of the CLI: a command option followed by the modifiers it accepts.
+ * CompiledCommandGrammar is generated from these rules by GrammarCompiler and
+ * has to be regenerated when they change.
+ */
+public class CommandGrammar {
+
+	private CommandGrammar() { }
+
+	public static List<Rule> rules() {
+		List<Rule> rules = new ArrayList<Rule>();
+		rules.add(new Rule(Command.ISSUE, new Object[0]));
+		rules.add(new Rule(Command.ISSUE, new Object[] {Command.GET_SUMMARY}));
+		rules.add(new Rule(Command.ISSUE, new Object[] {Command.GET_WATCHERS}));
+		rules.add(new Rule(Command.ISSUE, new Object[] {Command.GET_SUMMARY, Command.GET_WATCHERS}));
+		rules.add(new Rule(Command.GET_PROJECT, new Object[0]));
+		rules.add(new Rule(Command.EDIT_ISSUE, new Object[0]));
+		rules.add(new Rule(Command.LOGIN, new Object[0]));
+		rules.add(new Rule(Command.HELP, new Object[0]));
+		rules.add(new Rule(Command.SCRIPT, new Object[0]));
+		return rules;
+	}
+
+	/**
+	 * Grammar built from rules at runtime, used to check CompiledCommandGrammar.
+	 */
+	public static SimpleGrammar createGrammar() {
+		SimpleGrammar grammar = new SimpleGrammar();
+		for (Rule rule : rules()) {
+			grammar.addRule(rule);
+		}
+		return grammar;
+	}
+}
@@ -0,0 +1,49 @@
+package jiracli.common;
+import java.util.Arrays;
+
+import org.apache.commons.cli.Option;
+
+/**
+ * Generated by jiracli.tools.GrammarCompiler from CommandGrammar, do not edit.
+ * Rules are fixed tables, the grammar cannot be changed at runtime.
+ */
+
+public final class CompiledCommandGrammar extends Grammar {
+
+	private final static String[] COMMANDS = {"e", "getProject", "h", "i", "l", "x"};
+	private final static int[] FIRST_RULE = {0, 1, 2, 3, 7, 8, 9};
+	private final static String[] MODIFIERS = {"s", "w"};
+	private final static int[] ARITY = {0, 0, 0, 0, 1, 1, 2, 0, 0};
+	private final static long[] SIGNATURE = {0L, 0L, 0L, 0L, 1L, 2L, 3L, 0L, 0L};
+	private final static int[][] RIGHT = {{}, {}, {}, {}, {0}, {1}, {0, 1}, {}, {}};
+
+	@Override
+	public ParserResult parser(Option[] options) {
+		int command = options.length > 0 && options[0].getOpt() != null ? Arrays.binarySearch(COMMANDS, options[0].getOpt()) : -1;
+		if (command >= 0) {
+			long present = 0;
+			for (int i = 0; i < options.length; ++i) {
+				present |= bit(options[i].getOpt()) | bit(options[i].getLongOpt());
+			}
+			for (int r = FIRST_RULE[command]; r < FIRST_RULE[command + 1]; ++r) {
+				if (ARITY[r] == options.length - 1 && (SIGNATURE[r] & ~present) == 0) {
+					return new SuccessfullParserResult(rule(command, r));
+				}
+			}
+		}
+		return new FailedParserResult(Rule.getUndefineRuleInstance());
+	}
+
+	private static long bit(String opt) {
+		int i = opt != null ? Arrays.binarySearch(MODIFIERS, opt) : -1;
+		return i >= 0 ? 1L << i : 0;
+	}
+
+	private static Rule rule(int command, int r) {
+		Object[] right = new Object[RIGHT[r].length];
+		for (int i = 0; i < right.length; ++i) {
+			right[i] = Command.commands.get(MODIFIERS[RIGHT[r][i]]);
+		}
+		return new Rule(Command.commands.get(COMMANDS[command]), right);
+	}
+}
@@ -0,0 +1,293 @@
+package jiracli.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+
+/**
+ * Author: sphinks
+ * File: DaemonClient.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Thin client of CommandDaemon. It sends the arguments over the daemon's
+ * socket and copies the output back, so a command costs a connect instead of
+ * loading the REST client. Only JDK classes are used on this path. When no
+ * daemon is listening the command runs in this process as before.
+ * 
+ * Request: argument count, then each argument in modified UTF-8. Response:
+ * frames of channel byte, length and data, ended by EXIT and the status.
+ * 
+ * Arguments may hold a password, so they are only sent to a socket in a
+ * directory no other user can access, owned like the socket by the current
+ * user, and to a daemon running as that user where the peer can be checked.
+ */
+public class DaemonClient {
+
+	public final static String SOCKET_PROPERTY = "jiracli.socket";
+
+	final static byte EXIT = 0;
+	final static byte OUT = 1;
+	final static byte ERR = 2;
+
+	/**
+	 * @return socket set by the jiracli.socket property, or daemon.sock in a
+	 *    per user directory under $XDG_RUNTIME_DIR or the temporary directory
+	 */
+	public static Path defaultSocket() {
+		String path = System.getProperty(SOCKET_PROPERTY);
+		if (path != null) {
+			return Paths.get(path);
+		}
+		String runtime = System.getenv("XDG_RUNTIME_DIR");
+		Path directory = (runtime != null && runtime.length() > 0)
+				? Paths.get(runtime, "jira-cli")
+				: Paths.get(System.getProperty("java.io.tmpdir"), "jira-cli-" + System.getProperty("user.name"));
+		return directory.resolve("daemon.sock");
+	}
+
+	/**
+	 * Check that the directory of socket is a real directory of the current
+	 * user which, where the file system has POSIX permissions, other users
+	 * cannot access, and that the socket belongs to the current user too.
+	 * 
+	 * @throws IOException if they do not
+	 */
+	static void checkPrivate(Path socket) throws IOException {
+		Path directory = socket.toAbsolutePath().getParent();
+		if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+			throw new IOException(directory + " is not a directory");
+		}
+		checkOwner(directory);
+		try {
+			for (PosixFilePermission permission : Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS)) {
+				if (!permission.name().startsWith("OWNER_")) {
+					throw new IOException(directory + " is accessible by other users");
+				}
+			}
+		} catch (UnsupportedOperationException ex) {
+			// File system without POSIX permissions, ownership is all there is
+		}
+		if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+			checkOwner(socket);
+		}
+	}
+
+	/**
+	 * Check that the other end of channel runs as the current user, where
+	 * the platform reports peer credentials.
+	 * 
+	 * @throws IOException if it does not
+	 */
+	static void checkPeer(SocketChannel channel) throws IOException {
+		UnixDomainPrincipal peer;
+		try {
+			peer = channel.getOption(ExtendedSocketOptions.SO_PEERCRED);
+		} catch (UnsupportedOperationException ex) {
+			// No peer credentials here, the private directory has to do
+			return;
+		}
+		if (!peer.user().equals(currentUser())) {
+			throw new IOException("peer runs as " + peer.user().getName());
+		}
+	}
+
+	private static void checkOwner(Path path) throws IOException {
+		UserPrincipal owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+		if (!owner.equals(currentUser())) {
+			throw new IOException(path + " is owned by " + owner.getName());
+		}
+	}
+
+	private static UserPrincipal currentUser() throws IOException {
+		return FileSystems.getDefault().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+	}
+
+	/**
+	 * Run a command on the daemon listening on socket.
+	 * 
+	 * @return exit status of the command or -1 when no daemon is listening
+	 */
+	public static int run(Path socket, String[] arguments, OutputStream out, OutputStream err) throws IOException {
+		if (!Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+			return -1;
+		}
+		try {
+			checkPrivate(socket);
+		} catch (IOException ex) {
+			warn("not using daemon socket " + socket + ": " + ex.getMessage(), err);
+			return -1;
+		}
+		SocketChannel channel;
+		try {
+			channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+			channel.connect(UnixDomainSocketAddress.of(socket));
+		} catch (IOException ex) {
+			// Socket left behind by a daemon which is not running any more
+			return -1;
+		}
+		try {
+			try {
+				checkPeer(channel);
+			} catch (IOException ex) {
+				warn("not using daemon on " + socket + ": " + ex.getMessage(), err);
+				return -1;
+			}
+			DataOutputStream request = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			request.writeInt(arguments.length);
+			for (String argument : arguments) {
+				request.writeUTF(argument);
+			}
+			request.flush();
+			DataInputStream response = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			byte[] buffer = new byte[8192];
+			for (;;) {
+				byte kind = response.readByte();
+				int length = response.readInt();
+				if (kind == EXIT) {
+					out.flush();
+					err.flush();
+					return length;
+				}
+				OutputStream target = kind == ERR ? err : out;
+				while (length > 0) {
+					int count = response.read(buffer, 0, Math.min(length, buffer.length));
+					if (count < 0) {
+						throw new IOException("Daemon closed connection");
+					}
+					target.write(buffer, 0, count);
+					length -= count;
+				}
+				target.flush();
+			}
+		} finally {
+			channel.close();
+		}
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int n; (n = in.read(buffer)) > 0; ) {
+			bytes.write(buffer, 0, n);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void warn(String message, OutputStream err) throws IOException {
+		err.write(("WARNING: " + message + ", running the command here\n").getBytes());
+		err.flush();
+	}
+
+	/**
+	 * Arguments as the daemon has to get them. It has another working
+	 * directory and cannot read this standard input, so keys of -i given as
+	 * @file or - are read here and sent one per argument, and the script of
+	 * -x is sent with its absolute path.
+	 * 
+	 * @return arguments for the daemon or null when a key file cannot be read
+	 *    or holds a word which would be taken for an option or a file, then
+	 *    the command runs here and reports it
+	 */
+	static String[] forwardedArguments(String[] arguments, InputStream stdin) {
+		List<String> forwarded = new ArrayList<String>(arguments.length);
+		boolean keys = false;
+		try {
+			for (int i = 0; i < arguments.length; ++i) {
+				String argument = arguments[i];
+				if (keys && argument.equals("-")) {
+					if (!addKeys(new InputStreamReader(stdin), forwarded)) {
+						return null;
+					}
+				} else if (keys && argument.startsWith("@")) {
+					Reader reader = new InputStreamReader(new FileInputStream(argument.substring(1)));
+					try {
+						if (!addKeys(reader, forwarded)) {
+							return null;
+						}
+					} finally {
+						reader.close();
+					}
+				} else {
+					forwarded.add(argument);
+					keys = (argument.equals("-i") || argument.equals("--issue")) || (keys && !argument.startsWith("-"));
+					if ((argument.equals("-x") || argument.equals("--script")) && i + 1 < arguments.length) {
+						forwarded.add(Paths.get(arguments[++i]).toAbsolutePath().toString());
+					}
+				}
+			}
+		} catch (IOException ex) {
+			return null;
+		}
+		return forwarded.toArray(new String[forwarded.size()]);
+	}
+
+	/**
+	 * Add keys separated by white space or commas, like GetIssueAction does.
+	 */
+	private static boolean addKeys(Reader reader, List<String> keys) throws IOException {
+		BufferedReader lines = new BufferedReader(reader);
+		for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+			for (String key : line.split("[\\s,]+")) {
+				if (key.startsWith("-") || key.startsWith("@")) {
+					return false;
+				}
+				if (key.length() > 0) {
+					keys.add(key);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Forward command-line arguments to the daemon, or run them here when no
+	 * daemon is listening.
+	 */
+	public static void main(final String[] commandLineArguments) throws IOException {
+		int status = -1;
+		Path socket = defaultSocket();
+		if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+			// Keep standard input for a command which ends up running here
+			byte[] input = Arrays.asList(commandLineArguments).contains("-") ? readAll(System.in) : new byte[0];
+			String[] forwarded = forwardedArguments(commandLineArguments, new ByteArrayInputStream(input));
+			if (forwarded != null) {
+				status = run(socket, forwarded, System.out, System.err);
+			}
+			System.setIn(new ByteArrayInputStream(input));
+		}
+		if (status < 0) {
+			JiraClientMainClass.main(commandLineArguments);
+			return;
+		}
+		System.exit(status);
+	}
+}
@@ -6,10 +6,18 @@ package jiracli.common;
  */
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
 
+/**
+ * Rules matching a command, the first option, with its modifiers. A grammar
+ * only matches options, how its rules are built is up to the implementation.
+ */
 public abstract class Grammar {
 	
-	abstract void addRule(Rule newRule);
-	abstract ParserResult parser(CommandLine commandLine);
+	public abstract ParserResult parser(Option[] options);
+
+	public ParserResult parser(CommandLine commandLine) {
+		return parser(commandLine.getOptions());
+	}
 
 }
@@ -0,0 +1,266 @@
+package jiracli.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+
+import com.atlassian.jira.rest.client.AuthenticationHandler;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.RequestWriter;
+import com.sun.jersey.api.client.filter.ClientFilter;
+import com.sun.jersey.api.client.filter.Filterable;
+import com.sun.jersey.client.apache.config.ApacheHttpClientConfig;
+import com.sun.jersey.core.header.InBoundHeaders;
+
+/**
+ * Author: sphinks
+ * File: HttpTransport.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Pooled keep-alive HTTP transport shared by all Jersey clients of a
+ * JiraClient. Requests are sent with httpcomponents-client 4 through one
+ * connection pool, so connections to the server are reused across requests
+ * and clients instead of opening one per client. Idle connections are closed
+ * by a background thread, which is a daemon thread, so the pool lives as
+ * long as the process. The REST library builds its Jersey client on
+ * commons-httpclient 3 and does not let it be replaced, so the transport is
+ * a filter which Filterable.addFilter puts at the head of each resource's
+ * chain. It sends every request itself: filters added to the resource
+ * before it and the library handler are never called.
+ */
+public class HttpTransport {
+
+	public final static int MAX_PER_ROUTE = 32;
+	public final static int MAX_TOTAL = 64;
+	public final static long IDLE_TIMEOUT_SECONDS = 30;
+
+	private final static String CREDENTIALS_CHARSET = "ISO-8859-1";
+
+	private final MeteredConnectionManager connectionManager;
+	private final DefaultHttpClient httpClient;
+	private final Header authorization;
+
+	private final AtomicLong leases = new AtomicLong();
+	private final AtomicLong reuses = new AtomicLong();
+	private final AtomicLong waits = new AtomicLong();
+	private final AtomicLong waitNanos = new AtomicLong();
+
+	public HttpTransport(String login, String password) {
+		connectionManager = new MeteredConnectionManager();
+		connectionManager.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+		connectionManager.setMaxTotal(MAX_TOTAL);
+		httpClient = new DefaultHttpClient(connectionManager);
+		// Sent with every request as commons-httpclient does with preemptive authentication
+		authorization = BasicScheme.authenticate(new UsernamePasswordCredentials(login, password), CREDENTIALS_CHARSET, false);
+		Thread idleEvictor = new Thread("jira-cli-idle-connections") {
+			@Override
+			public void run() {
+				try {
+					while (!isInterrupted()) {
+						Thread.sleep(TimeUnit.SECONDS.toMillis(IDLE_TIMEOUT_SECONDS) / 2);
+						connectionManager.closeExpiredConnections();
+						connectionManager.closeIdleConnections(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+					}
+				} catch (InterruptedException ex) {
+					// shut down
+				}
+			}
+		};
+		idleEvictor.setDaemon(true);
+		idleEvictor.start();
+	}
+
+	/**
+	 * Handler for the REST library which sends every request of a client
+	 * through this transport. Authentication is done by the transport, the
+	 * library client configuration is left alone.
+	 */
+	public AuthenticationHandler getAuthenticationHandler() {
+		return new AuthenticationHandler() {
+			public void configure(ApacheHttpClientConfig config) {
+			}
+
+			public void configure(Filterable filterable, Client client) {
+				filterable.addFilter(new TransportFilter(client));
+			}
+		};
+	}
+
+	/**
+	 * @return line with lease, reuse and wait counts of the connection pool
+	 */
+	public String report() {
+		PoolStats stats = connectionManager.getTotalStats();
+		return String.format("Connections: leased %d, reused %d, waited %d (%.1f ms), open %d, idle %d\r\n",
+				leases.get(), reuses.get(), waits.get(), waitNanos.get() / 1e6,
+				stats.getLeased() + stats.getAvailable(), stats.getAvailable());
+	}
+
+	private ClientResponse execute(ClientRequest request, Client client) throws IOException {
+		HttpRequestBase method = (request.getEntity() != null)
+				? new EntityTransportRequest(request.getMethod(), request.getURI())
+				: new TransportRequest(request.getMethod(), request.getURI());
+		for (Map.Entry<String, List<Object>> header : request.getHeaders().entrySet()) {
+			for (Object value : header.getValue()) {
+				method.addHeader(header.getKey(), ClientRequest.getHeaderValue(value));
+			}
+		}
+		if (!method.containsHeader(authorization.getName())) {
+			method.addHeader(authorization);
+		}
+		if (request.getEntity() != null) {
+			((EntityTransportRequest) method).setEntity(new EntityWriter(client).write(request));
+		}
+		HttpResponse response = httpClient.execute(method);
+		InBoundHeaders headers = new InBoundHeaders();
+		for (Header header : response.getAllHeaders()) {
+			headers.add(header.getName(), header.getValue());
+		}
+		// Closing the content, which Jersey does after reading the entity, returns the connection to the pool
+		HttpEntity entity = response.getEntity();
+		InputStream content = (entity != null) ? entity.getContent() : new ByteArrayInputStream(new byte[0]);
+		return new ClientResponse(response.getStatusLine().getStatusCode(), headers, content, client.getMessageBodyWorkers());
+	}
+
+	/**
+	 * First filter of a resource, sends the request itself and ends the chain.
+	 */
+	private class TransportFilter extends ClientFilter {
+
+		private final Client client;
+
+		TransportFilter(Client client) {
+			this.client = client;
+		}
+
+		@Override
+		public ClientResponse handle(ClientRequest request) throws ClientHandlerException {
+			try {
+				return execute(request, client);
+			} catch (IOException ex) {
+				throw new ClientHandlerException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Request with any method, Jersey passes the method as a string.
+	 */
+	private static class TransportRequest extends HttpRequestBase {
+
+		private final String method;
+
+		TransportRequest(String method, URI uri) {
+			this.method = method;
+			setURI(uri);
+		}
+
+		@Override
+		public String getMethod() {
+			return method;
+		}
+	}
+
+	private static class EntityTransportRequest extends HttpEntityEnclosingRequestBase {
+
+		private final String method;
+
+		EntityTransportRequest(String method, URI uri) {
+			this.method = method;
+			setURI(uri);
+		}
+
+		@Override
+		public String getMethod() {
+			return method;
+		}
+	}
+
+	/**
+	 * Writes request entities with the providers of a Jersey client.
+	 */
+	private static class EntityWriter extends RequestWriter {
+
+		EntityWriter(Client client) {
+			super(client.getMessageBodyWorkers());
+		}
+
+		HttpEntity write(ClientRequest request) throws IOException {
+			RequestEntityWriter writer = getRequestEntityWriter(request);
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			writer.writeRequestEntity(body);
+			ByteArrayEntity entity = new ByteArrayEntity(body.toByteArray());
+			if (writer.getMediaType() != null) {
+				entity.setContentType(writer.getMediaType().toString());
+			}
+			return entity;
+		}
+	}
+
+	/**
+	 * Pool counting leases, reused connections and leases which had to wait
+	 * for a connection because all of the route were in use.
+	 */
+	private class MeteredConnectionManager extends PoolingClientConnectionManager {
+
+		MeteredConnectionManager() {
+			super(SchemeRegistryFactory.createDefault());
+		}
+
+		@Override
+		public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+			PoolStats stats = getStats(route);
+			final boolean full = stats.getAvailable() == 0
+					&& (stats.getLeased() >= getMaxPerRoute(route) || getTotalStats().getLeased() >= getMaxTotal());
+			final ClientConnectionRequest request = super.requestConnection(route, state);
+			return new ClientConnectionRequest() {
+				public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+						throws InterruptedException, ConnectionPoolTimeoutException {
+					long start = System.nanoTime();
+					ManagedClientConnection connection = request.getConnection(timeout, unit);
+					leases.incrementAndGet();
+					if (connection.isOpen()) {
+						reuses.incrementAndGet();
+					}
+					if (full) {
+						waits.incrementAndGet();
+						waitNanos.addAndGet(System.nanoTime() - start);
+					}
+					return connection;
+				}
+
+				public void abortRequest() {
+					request.abortRequest();
+				}
+			};
+		}
+	}
+}
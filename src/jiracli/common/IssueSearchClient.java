@@ -0,0 +1,215 @@
+package jiracli.common;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.UriBuilder;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import com.atlassian.jira.rest.client.ProgressMonitor;
+import com.atlassian.jira.rest.client.RestClientException;
+import com.atlassian.jira.rest.client.domain.BasicWatchers;
+import com.atlassian.jira.rest.client.internal.jersey.AbstractJerseyRestClient;
+import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
+import com.atlassian.jira.rest.client.internal.json.WatchersJsonParserBuilder;
+import com.sun.jersey.api.client.UniformInterfaceException;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+
+/**
+ * Author: sphinks
+ * File: IssueSearchClient.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Fetches many issues by key with JQL search requests instead of one request
+ * per issue. Keys are sent in chunks as key in (...), and every request asks
+ * only for the fields the command prints. SearchRestClient of the REST
+ * library cannot be used, it drops all fields but key and self.
+ */
+public class IssueSearchClient extends AbstractJerseyRestClient {
+
+	public final static int CHUNK_SIZE = 100;
+
+	public final static String SUMMARY_FIELD = "summary";
+	public final static String WATCHES_FIELD = "watches";
+
+	private final URI searchUri;
+	private final JsonObjectParser<BasicWatchers> watchersParser = WatchersJsonParserBuilder.createBasicWatchersParser();
+
+	public IssueSearchClient(URI baseUri, ApacheHttpClient client) {
+		super(baseUri, client);
+		searchUri = UriBuilder.fromUri(baseUri).path("search").build();
+	}
+
+	/**
+	 * Issue as returned by search, with only the requested fields set.
+	 */
+	public static class FoundIssue {
+
+		private final String key;
+		private final URI self;
+		private final String summary;
+		private final BasicWatchers watchers;
+
+		FoundIssue(String key, URI self, String summary, BasicWatchers watchers) {
+			this.key = key;
+			this.self = self;
+			this.summary = summary;
+			this.watchers = watchers;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public URI getSelf() {
+			return self;
+		}
+
+		public String getSummary() {
+			return summary;
+		}
+
+		public BasicWatchers getWatchers() {
+			return watchers;
+		}
+
+		/**
+		 * @return transitions URI built from self the way the REST library does
+		 */
+		public URI getTransitionsUri() {
+			return UriBuilder.fromUri(self).path("transitions").queryParam("expand", "transitions.fields").build();
+		}
+	}
+
+	/**
+	 * @return true if ex is the answer of a server without POST search with
+	 *    fields, before JIRA 5, which responds 404 or 405 to it
+	 */
+	public static boolean isSearchUnsupported(RestClientException ex) {
+		for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+			if (cause instanceof UniformInterfaceException) {
+				int status = ((UniformInterfaceException) cause).getResponse().getStatus();
+				return status == 404 || status == 405;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return found issues by upper case key, issues which do not exist are
+	 *    missing from the map
+	 */
+	public Map<String, FoundIssue> getIssues(Collection<String> keys, Collection<String> fields, ProgressMonitor pm) {
+		Map<String, FoundIssue> issues = new LinkedHashMap<String, FoundIssue>();
+		List<String> chunk = new ArrayList<String>(CHUNK_SIZE);
+		for (Iterator<String> i = keys.iterator(); i.hasNext();) {
+			chunk.add(i.next());
+			if (chunk.size() == CHUNK_SIZE || !i.hasNext()) {
+				search(jql(chunk), chunk.size(), fields, issues, pm);
+				chunk.clear();
+			}
+		}
+		return issues;
+	}
+
+	/**
+	 * Run one query, following pages when the server returns fewer issues per
+	 * page than asked for.
+	 */
+	private void search(String jql, int expected, Collection<String> fields, Map<String, FoundIssue> issues, ProgressMonitor pm) {
+		final PageParser parser = new PageParser(fields);
+		int startAt = 0;
+		for (;;) {
+			JSONObject request = new JSONObject();
+			try {
+				request.put("jql", jql);
+				request.put("startAt", startAt);
+				request.put("maxResults", expected);
+				request.put("fields", new JSONArray(fields.isEmpty() ? Collections.singleton("key") : fields));
+				// Unknown keys are reported as warnings instead of failing the chunk
+				request.put("validateQuery", false);
+			} catch (JSONException e) {
+				throw new RestClientException(e);
+			}
+			Page page = postAndParse(searchUri, request, parser, pm);
+			for (FoundIssue issue : page.issues) {
+				issues.put(issue.getKey().toUpperCase(), issue);
+			}
+			startAt += page.issues.size();
+			if (page.issues.isEmpty() || startAt >= page.total) {
+				return;
+			}
+		}
+	}
+
+	private static String jql(List<String> keys) {
+		StringBuilder jql = new StringBuilder("key in (");
+		for (int i = 0; i < keys.size(); ++i) {
+			if (i > 0) {
+				jql.append(',');
+			}
+			jql.append('"');
+			String key = keys.get(i);
+			for (int j = 0; j < key.length(); ++j) {
+				char c = key.charAt(j);
+				if (c == '"' || c == '\\') {
+					jql.append('\\');
+				}
+				jql.append(c);
+			}
+			jql.append('"');
+		}
+		return jql.append(')').toString();
+	}
+
+	private static class Page {
+
+		final int total;
+		final List<FoundIssue> issues;
+
+		Page(int total, List<FoundIssue> issues) {
+			this.total = total;
+			this.issues = issues;
+		}
+	}
+
+	private class PageParser implements JsonObjectParser<Page> {
+
+		private final boolean summary;
+		private final boolean watches;
+
+		PageParser(Collection<String> fields) {
+			summary = fields.contains(SUMMARY_FIELD);
+			watches = fields.contains(WATCHES_FIELD);
+		}
+
+		@Override
+		public Page parse(JSONObject json) throws JSONException {
+			JSONArray array = json.getJSONArray("issues");
+			List<FoundIssue> issues = new ArrayList<FoundIssue>(array.length());
+			for (int i = 0; i < array.length(); ++i) {
+				JSONObject issue = array.getJSONObject(i);
+				JSONObject fields = issue.optJSONObject("fields");
+				JSONObject watchers = watches && fields != null ? fields.optJSONObject(WATCHES_FIELD) : null;
+				issues.add(new FoundIssue(
+						issue.getString("key"),
+						JsonParseUtil.getSelfUri(issue),
+						summary && fields != null ? fields.optString(SUMMARY_FIELD, null) : null,
+						watchers != null ? watchersParser.parse(watchers) : null));
+			}
+			return new Page(json.getInt("total"), issues);
+		}
+	}
+}
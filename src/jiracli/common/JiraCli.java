@@ -1,19 +1,13 @@
 package jiracli.common;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.net.URISyntaxException;
-import java.util.Collection;
-import java.util.Iterator;
 
-import org.apache.commons.cli.CommandLine;
-import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.HelpFormatter;
-import org.apache.commons.cli.Option;
-import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.cli.PosixParser;
 
 /**
  * Author: Zerin_IS
@@ -24,25 +18,36 @@ import org.apache.commons.cli.PosixParser;
 
 public class JiraCli {
 	
+	/**
+	 * Commands parsed in this process, shared by every JiraCli instance.
+	 */
+	public final static CommandCache commandCache = new CommandCache();
+	
 	public JiraCli(String[] commandLineArguments) {
+		this(commandLineArguments, null, System.out, System.err);
+	}
+	
+	/**
+	 * Run a command writing to the given streams instead of the console.
+	 * 
+	 * @param client Client to run the command with, null to create one.
+	 */
+	public JiraCli(String[] commandLineArguments, JiraClient client, PrintStream out, PrintStream err) {
 		final String applicationName = "jira-cli";
-		displayBlankLines(1, System.out);
-		displayHeader(System.out);
-		displayBlankLines(2, System.out);
+		displayBlankLines(1, out);
+		displayHeader(out);
+		displayBlankLines(2, out);
 		if (commandLineArguments.length < 1)
 		{
-			displayBlankLines(2, System.out);
+			displayBlankLines(2, out);
 
-			System.out.println("-- HELP --");
-			printHelp(
-					constructPosixOptions(), 80, "Start of help", "End of Help",
-					3, 5, true, System.out);
+			out.println("-- HELP --");
+			out.print(Command.USAGE_TEXT);
 		}else{
 		
 		
-			displayProvidedCommandLineArguments(commandLineArguments, System.out);
-			constructPosixOptions();
-			usePosixParser(commandLineArguments);
+			displayProvidedCommandLineArguments(commandLineArguments, out);
+			usePosixParser(commandLineArguments, client, out, err);
 		}
 	}
 	
@@ -94,71 +99,74 @@ public class JiraCli {
 	}
 	
 	/**
-	 * Apply Apache Commons CLI PosixParser to command-line arguments.
+	 * Apply Apache Commons CLI PosixParser to command-line arguments. Argument
+	 * vectors seen before are taken from commandCache without parsing.
 	 * 
 	 * @param commandLineArguments Command-line arguments to be processed with
 	 *    Posix-style parser.
 	 */
 	public static void usePosixParser(final String[] commandLineArguments)
 	{
-		final CommandLineParser cmdLinePosixParser = new PosixParser();
-		final Options posixOptions = constructPosixOptions();
-		CommandLine commandLine;
+		usePosixParser(commandLineArguments, null, System.out, System.err);
+	}
+	
+	/**
+	 * Apply parser to command-line arguments and run the command with the
+	 * given client, writing its result to out and errors to err.
+	 * 
+	 * @param client Client to run the command with, null to create one.
+	 */
+	public static void usePosixParser(
+			final String[] commandLineArguments,
+			final JiraClient client,
+			final PrintStream out,
+			final PrintStream err)
+	{
+		ParsedCommand command;
 		try
 		{
-			commandLine = cmdLinePosixParser.parse(posixOptions, commandLineArguments);
+			command = commandCache.parse(commandLineArguments);
+			if (command.isHelp()) {
+				// Local command, the client and its HTTP stack are not created
+				displayBlankLines(2, out);
+				out.println("-- HELP --");
+				out.print(Command.HELP_TEXT);
+				return;
+			}
 			try{
-				JiraClient jc = new JiraClient("http://jira.uri", "username", "password");
-				/*if (commandLine.hasOption(Command.LOGIN.getOpt())) {
-					String[] arguments = commandLine.getOptionValues(Command.LOGIN.getOpt());
-					System.out.println("We try to Login with: " + arguments[0] + ' ' + arguments[1]);
-					System.out.println(jc.performCommand(commandLine.getOptions()[0]));
-				}
-				if (commandLine.hasOption(Command.ISSUE.getOpt())) {
-					String[] arguments = commandLine.getOptionValues(Command.ISSUE.getOpt());
-					System.out.println("We try to Issue with: " + arguments[0] + ' ' + arguments[1]);
-					System.out.println(jc.performCommand(commandLine.getOptions()[0]));
-				}*/
-				if (commandLine.hasOption(Command.HELP.getOpt())) {
-					displayBlankLines(2, System.out);
-					System.out.println("-- HELP --");
-					printHelp(
-							constructPosixOptions(), 80, "Options", "-- HELP --",
-							3, 5, true, System.out);
-				}else{
-					System.out.println(jc.performCommand(commandLine.getOptions()));
-				}
+				JiraClient jc = client != null ? client : createClient();
+				out.println(jc.performCommand(command));
 			}catch(URISyntaxException ex){
-				System.err.println("Incorrect URI: " + ex.toString());
+				err.println("Incorrect URI: " + ex.toString());
+			}catch(IllegalArgumentException ex){
+				err.println("Incorrect argument: " + ex.getMessage());
 			}	
 		}
 		catch (ParseException parseException)  // checked exception
 		{
-			System.err.println(
+			err.println(
 					"Encountered exception while parsing using PosixParser:\n"
 					+ parseException.getMessage() );
 		}
 	}
 
 	/**
-	 * Construct and provide Posix-compatible Options.
+	 * Create the client commands are run with.
+	 */
+	public static JiraClient createClient() throws URISyntaxException
+	{
+		return new JiraClient("http://jira.uri", "username", "password");
+	}
+
+	/**
+	 * Provide Posix-compatible Options, a new copy for every call since
+	 * parsing changes the options it is given.
 	 * 
 	 * @return Options expected from command-line of Posix form.
 	 */
 	public static Options constructPosixOptions()
 	{
-		final Options posixOptions = new Options();
-		Collection<Option> commands = Command.commands.values();
-		for (Iterator<Option> i = commands.iterator(); i.hasNext();) {
-			posixOptions.addOption((Option)i.next());
-		}
-		Option opt = OptionBuilder.withLongOpt( "block-size" )
-        .withDescription( "use SIZE-byte blocks" )
-        .hasArg()
-        .withArgName("SIZE")
-        .create();
-		posixOptions.addOption(opt);
-		return posixOptions;
+		return Command.newOptions();
 	}
 
 	/**
@@ -10,18 +10,27 @@ import java.net.URISyntaxException;
 
 import jiracli.actions.CommandAction;
 
-import org.apache.commons.cli.CommandLine;
+import javax.ws.rs.core.UriBuilder;
+
 import org.apache.commons.cli.Option;
+import org.apache.commons.httpclient.HttpClient;
+
+import com.atlassian.jira.rest.client.AuthenticationHandler;
 import com.atlassian.jira.rest.client.JiraRestClient;
 import com.atlassian.jira.rest.client.internal.jersey.JerseyJiraRestClientFactory;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.client.apache.ApacheHttpClient;
+import com.sun.jersey.client.apache.ApacheHttpClientHandler;
+import com.sun.jersey.client.apache.config.DefaultApacheHttpClientConfig;
 
 public class JiraClient {
 	
 	private URI jiraServerUri;
-	private JiraRestClient restClient;
+	private volatile JiraRestClient restClient;
+	private volatile IssueSearchClient issueSearchClient;
+	private volatile HttpTransport transport;
 	private String login;
 	private String password;
-	final JerseyJiraRestClientFactory factory = new JerseyJiraRestClientFactory();
 	
 	public JiraClient(String URL, String login, String password) throws URISyntaxException{
 		
@@ -30,16 +39,97 @@ public class JiraClient {
 		restClient = null;
 		try{
 			jiraServerUri = new URI(URL);
-			restClient = factory.createWithBasicHttpAuthentication(jiraServerUri, login, password);
 		}catch(URISyntaxException ex){
 			throw ex;
 		}
 	}
 	
+	/**
+	 * REST client, created on the first call. Loading and setting up Jersey
+	 * is the most expensive part of a start, commands which never reach the
+	 * server do not pay for it.
+	 */
+	public JiraRestClient getRestClient() {
+		JiraRestClient client = restClient;
+		if (client == null) {
+			synchronized (this) {
+				client = restClient;
+				if (client == null) {
+					client = new JerseyJiraRestClientFactory().create(jiraServerUri, getTransport().getAuthenticationHandler());
+					restClient = client;
+				}
+			}
+		}
+		return client;
+	}
+	
+	/**
+	 * Client for bulk issue lookups, created on the first call like the REST
+	 * client.
+	 */
+	public IssueSearchClient getIssueSearchClient() {
+		IssueSearchClient client = issueSearchClient;
+		if (client == null) {
+			synchronized (this) {
+				client = issueSearchClient;
+				if (client == null) {
+					client = new IssueSearchClient(
+							UriBuilder.fromUri(jiraServerUri).path("/rest/api/latest").build(), createHttpClient());
+					issueSearchClient = client;
+				}
+			}
+		}
+		return client;
+	}
+	
+	/**
+	 * Connection pool shared by all clients, created on the first call like
+	 * the REST client.
+	 */
+	public HttpTransport getTransport() {
+		HttpTransport result = transport;
+		if (result == null) {
+			synchronized (this) {
+				result = transport;
+				if (result == null) {
+					result = new HttpTransport(login, password);
+					transport = result;
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Jersey client set up as the one inside JerseyJiraRestClient, which the
+	 * REST library does not expose. Requests go through the shared transport,
+	 * the commons-httpclient of the Jersey handler is never used.
+	 */
+	private ApacheHttpClient createHttpClient() {
+		final AuthenticationHandler authenticationHandler = getTransport().getAuthenticationHandler();
+		DefaultApacheHttpClientConfig config = new DefaultApacheHttpClientConfig();
+		authenticationHandler.configure(config);
+		return new ApacheHttpClient(new ApacheHttpClientHandler(new HttpClient(), config)) {
+			@Override
+			public WebResource resource(URI u) {
+				WebResource resource = super.resource(u);
+				authenticationHandler.configure(resource, this);
+				return resource;
+			}
+		};
+	}
+	
 	public String performCommand(Option[] options) {
 		Option option = options[0];
 		CommandAction commandAction = Command.action.get(option.getOpt());
-		return commandAction.action(options, restClient);
+		return commandAction.action(options, this);
+	}
+	
+	/**
+	 * Run a command whose action was resolved when it was parsed.
+	 */
+	public String performCommand(ParsedCommand command) {
+		return command.getAction().action(command.getOptions(), this);
 	}
 	
 	
@@ -1,5 +1,7 @@
 package jiracli.common;
 
+import java.io.IOException;
+
 public class JiraClientMainClass {
 
 
@@ -8,8 +10,14 @@ public class JiraClientMainClass {
 	 * 
 	 * @param commandLineArguments Commmand-line arguments.
 	 */
-	public static void main(final String[] commandLineArguments)
+	public static void main(final String[] commandLineArguments) throws IOException
 	{
+		if (commandLineArguments.length > 0 && commandLineArguments[0].equals("--daemon")) {
+			String[] daemonArguments = new String[commandLineArguments.length - 1];
+			System.arraycopy(commandLineArguments, 1, daemonArguments, 0, daemonArguments.length);
+			CommandDaemon.main(daemonArguments);
+			return;
+		}
 		//Start for pipelining
 		/*InputStream in;
 		 
@@ -0,0 +1,64 @@
+package jiracli.common;
+
+import jiracli.actions.CommandAction;
+
+import org.apache.commons.cli.Option;
+
+/**
+ * Author: sphinks
+ * File: ParsedCommand.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Result of parsing one argument vector: the options found on the command
+ * line and the action of the first option which has one. That option is moved
+ * to the front, actions take their arguments from options[0]. Options are the
+ * copies made by the parser, so they keep their values while cached.
+ */
+public class ParsedCommand {
+
+	private final Option[] options;
+	private final CommandAction action;
+	private final boolean help;
+
+	public ParsedCommand(Option[] options) {
+		int command = 0;
+		while (command < options.length && Command.action.get(options[command].getOpt()) == null) {
+			command++;
+		}
+		if (command > 0 && command < options.length) {
+			options = options.clone();
+			Option option = options[command];
+			System.arraycopy(options, 0, options, 1, command);
+			options[0] = option;
+		}
+		this.options = options;
+		this.help = contains(options, Command.HELP);
+		this.action = options.length > 0 ? Command.action.get(options[0].getOpt()) : null;
+	}
+
+	public Option[] getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return action of the first option or null when it has none
+	 */
+	public CommandAction getAction() {
+		return action;
+	}
+
+	public boolean isHelp() {
+		return help;
+	}
+
+	private static boolean contains(Option[] options, Option option) {
+		for (Option o : options) {
+			if (o.equals(option)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,150 @@
+package jiracli.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Author: sphinks
+ * File: RequestExecutor.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Runs independent REST requests of one command with at most parallelism of
+ * them in flight. Responses come back in the order of the requests whatever
+ * order they finish in, each with its latency and the exception it failed
+ * with, so one failed request does not hide the others.
+ */
+public class RequestExecutor {
+
+	public final static int DEFAULT_PARALLELISM = 8;
+
+	private final int parallelism;
+
+	public RequestExecutor(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Result of one request.
+	 */
+	public static class Response<T> {
+
+		private final T value;
+		private final RuntimeException error;
+		private final long latency;
+
+		Response(T value, RuntimeException error, long latency) {
+			this.value = value;
+			this.error = error;
+			this.latency = latency;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+		/**
+		 * @return exception thrown by the request or null when it succeeded
+		 */
+		public RuntimeException getError() {
+			return error;
+		}
+
+		/**
+		 * @return time from start to end of the request in nanoseconds
+		 */
+		public long getLatency() {
+			return latency;
+		}
+	}
+
+	/**
+	 * Run all requests and wait for them. A single request runs on the
+	 * calling thread.
+	 */
+	public <T> List<Response<T>> invokeAll(List<? extends Callable<T>> requests) {
+		List<Response<T>> responses = new ArrayList<Response<T>>(requests.size());
+		if (requests.size() == 1 || parallelism == 1) {
+			for (Callable<T> request : requests) {
+				responses.add(timed(request));
+			}
+			return responses;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, requests.size()));
+		try {
+			List<Future<Response<T>>> futures = new ArrayList<Future<Response<T>>>(requests.size());
+			for (final Callable<T> request : requests) {
+				futures.add(executor.submit(new Callable<Response<T>>() {
+					public Response<T> call() {
+						return timed(request);
+					}
+				}));
+			}
+			for (Future<Response<T>> future : futures) {
+				responses.add(future.get());
+			}
+			return responses;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for requests", ex);
+		} catch (ExecutionException ex) {
+			// timed() catches everything a request throws but errors
+			throw (Error) ex.getCause();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> Response<T> timed(Callable<T> request) {
+		long start = System.nanoTime();
+		try {
+			T value = request.call();
+			return new Response<T>(value, null, System.nanoTime() - start);
+		} catch (RuntimeException ex) {
+			return new Response<T>(null, ex, System.nanoTime() - start);
+		} catch (Exception ex) {
+			return new Response<T>(null, new IllegalStateException(ex), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * @return line per request with its name and latency, then a line with
+	 *    count, parallelism and latency percentiles of responses
+	 */
+	public String report(List<String> names, List<? extends Response<?>> responses) {
+		if (responses.isEmpty()) {
+			return "Requests: 0\r\n";
+		}
+		StringBuilder report = new StringBuilder();
+		long[] latencies = new long[responses.size()];
+		for (int i = 0; i < latencies.length; ++i) {
+			Response<?> response = responses.get(i);
+			latencies[i] = response.getLatency();
+			report.append(String.format("Request %s: %.1f ms%s\r\n", names.get(i), latencies[i] / 1e6,
+					response.getError() != null ? ", failed" : ""));
+		}
+		Arrays.sort(latencies);
+		return report.append(String.format("Requests: %d, parallelism %d, latency p50 %.1f ms, p90 %.1f ms, max %.1f ms\r\n",
+				latencies.length, parallelism,
+				percentile(latencies, 50), percentile(latencies, 90), latencies[latencies.length - 1] / 1e6)).toString();
+	}
+
+	private static double percentile(long[] sorted, int percent) {
+		int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+}
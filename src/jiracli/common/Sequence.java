@@ -8,9 +8,17 @@ package jiracli.common;
 import java.util.*;
 
 
+/**
+ * Immutable sequence of items. Subsequences are views over the same array,
+ * so slicing takes constant time, and the order sensitive hash is computed
+ * once, which makes sequences cheap keys of memo tables.
+ */
 public class Sequence {
 
-    private Object[] items;
+    private final Object[] items;
+    private final int offset;
+    private final int length;
+    private int hash; // 0 until computed, a racing thread at worst computes it again
 
     public Sequence(Object[] items) {
         this(items, 0, items.length);
@@ -19,6 +27,17 @@ public class Sequence {
     public Sequence(Object[] items, int index, int length) {
         this.items = new Object[length];
         System.arraycopy(items, index, this.items, 0, length);
+        this.offset = 0;
+        this.length = length;
+    }
+
+    /**
+     * View of length items of source starting at index, sharing its array.
+     */
+    private Sequence(Sequence source, int index, int length) {
+        this.items = source.items;
+        this.offset = source.offset + index;
+        this.length = length;
     }
     
     public boolean equals(Object o) {
@@ -26,23 +45,42 @@ public class Sequence {
     }
     
     public boolean equals(Sequence s) {
-        return Arrays.equals(items, s.items);
+        int h = hash;
+        int sh = s.hash;
+        if (length != s.length || (h != 0 && sh != 0 && h != sh)) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            Object a = items[offset + i];
+            Object b = s.items[s.offset + i];
+            if (a == null ? b != null : !a.equals(b)) {
+                return false;
+            }
+        }
+        return true;
     }
     
     public int hashCode() {
-    	int r = 0;
-    	for (int i = 0; i < items.length; ++i) {
-    		r ^= items[i].hashCode();
-    	}
-        return r;
+        int h = hash;
+        if (h == 0) {
+            h = 1;
+            for (int i = offset; i < offset + length; ++i) {
+                h = 31 * h + (items[i] == null ? 0 : items[i].hashCode());
+            }
+            hash = h;
+        }
+        return h;
     }
     
     public int length() {
-        return items.length;
+        return length;
     }
     
     public Object at(int index) {
-        return items[index];
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        return items[offset + index];
     }
     
     public int indexOf(Object o) {
@@ -50,8 +88,8 @@ public class Sequence {
     }
     
     public int indexOf(Object o, int index) {
-        for (int i = index; i < items.length; ++i) {
-            if (items[i].equals(o)) {
+        for (int i = index; i < length; ++i) {
+            if (items[offset + i].equals(o)) {
                 return i;
             }
         }
@@ -59,12 +97,12 @@ public class Sequence {
     }
     
     public int lastIndexOf(Object o) {
-        return lastIndexOf(o, items.length);
+        return lastIndexOf(o, length - 1);
     }
     
     public int lastIndexOf(Object o, int index) {
-        for (int i = index; i >= 0; --i) {
-            if (items[i].equals(o)) {
+        for (int i = Math.min(index, length - 1); i >= 0; --i) {
+            if (items[offset + i].equals(o)) {
                 return i;
             }
         }
@@ -72,7 +110,10 @@ public class Sequence {
     }
     
     public Sequence subSequence(int index, int length) {
-        return new Sequence(items, index, length);
+        if (index < 0 || length < 0 || index + length > this.length) {
+            throw new IndexOutOfBoundsException("Subsequence " + index + "+" + length + " of sequence of length " + this.length);
+        }
+        return new Sequence(this, index, length);
     }
     
     public Sequence prefix(int length) {
@@ -80,23 +121,23 @@ public class Sequence {
     }
     
     public Sequence suffix(int length) {
-        return subSequence(items.length - length, length);
+        return subSequence(this.length - length, length);
     }
     
     public Sequence removePrefix(int length) {
-        return suffix(items.length - length);
+        return suffix(this.length - length);
     }
     
     public Sequence removeSuffix(int length) {
-        return prefix(items.length - length);
+        return prefix(this.length - length);
     }
     
     public String toString() {
-        if (items.length > 0) {
+        if (length > 0) {
             StringBuffer b = new StringBuffer();
-            b.append(items[0]);
-            for (int i = 1; i < items.length; ++i) {
-                b.append(" ").append(items[i]);
+            b.append(items[offset]);
+            for (int i = 1; i < length; ++i) {
+                b.append(" ").append(items[offset + i]);
             }
             return b.toString();
         } else {
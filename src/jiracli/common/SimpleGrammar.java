@@ -1,8 +1,9 @@
 package jiracli.common;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 
 /**
@@ -13,52 +14,135 @@ import org.apache.commons.cli.Option;
 
 //Unused class since pipelining instead of mutli-commands
 
+/**
+ * Rules are indexed by their left side and arity. Every option used on a
+ * right side gets a bit, so a rule matches when its bits are contained in
+ * the bits of the command line options.
+ */
 public class SimpleGrammar extends Grammar {
 
-	private LinkedList<Rule> grammarRules;
+	private Map<RuleKey, List<IndexedRule>> grammarRules;
+	private Map<String, Integer> optionBits;
 	
 	public SimpleGrammar() {
-		grammarRules = new LinkedList<Rule>();
+		grammarRules = new HashMap<RuleKey, List<IndexedRule>>();
+		optionBits = new HashMap<String, Integer>();
 	}
 
-	@Override
 	public void addRule(Rule newRule) {
-		grammarRules.add(newRule);
+		Object[] right = newRule.right();
+		long[] signature = new long[0];
+		for (int i = 0; i < right.length; ++i) {
+			String opt = ((Option)right[i]).getOpt();
+			Integer bit = optionBits.get(opt);
+			if (bit == null) {
+				bit = optionBits.size();
+				optionBits.put(opt, bit);
+			}
+			signature = setBit(signature, bit);
+		}
+		RuleKey key = new RuleKey(newRule.left(), right.length);
+		List<IndexedRule> rules = grammarRules.get(key);
+		if (rules == null) {
+			rules = new ArrayList<IndexedRule>();
+			grammarRules.put(key, rules);
+		}
+		rules.add(new IndexedRule(newRule, signature));
 	}
 
 	@Override
-	public ParserResult parser(CommandLine commandLine) {
-		
-		
-		//Option baseOpt = getBaseOption(commandLine);
-		Option baseOpt = null;
-		
-
-		Iterator ruleIterator;
+	public ParserResult parser(Option[] options) {
+		Option baseOpt = getBaseOption(options);
 		Rule r = Rule.getUndefineRuleInstance();
-		Rule tmpRule;
-		ruleIterator = grammarRules.iterator();
-		while (ruleIterator.hasNext()) {
-			tmpRule = (Rule)ruleIterator.next();
-			if ((tmpRule.left().equals(baseOpt)) && (tmpRule.right().length == commandLine.getOptions().length-1)) {
-				if (canReduce(tmpRule, commandLine, tmpRule.right().length)) {
-					return new SuccessfullParserResult(tmpRule);
+		
+		List<IndexedRule> rules = grammarRules.get(new RuleKey(baseOpt, options.length-1));
+		if (rules != null) {
+			long[] present = signature(options);
+			for (int i = 0; i < rules.size(); ++i) {
+				IndexedRule tmpRule = rules.get(i);
+				if (contains(present, tmpRule.signature)) {
+					return new SuccessfullParserResult(tmpRule.rule);
 				}
 			}
 		}
 		return new FailedParserResult(r);
 	}
-	
-	private boolean canReduce(Rule r, CommandLine stack, int current) {
-		if (current > 0) {
-			if (stack.hasOption(((Option)r.right()[current-1]).getOpt())){
-				return canReduce(r, stack, current-1);
-			}else{
+
+	/**
+	 * Command of a command line is its first option.
+	 */
+	private Option getBaseOption(Option[] options) {
+		return options.length > 0 ? options[0] : null;
+	}
+
+	private long[] signature(Option[] options) {
+		long[] signature = new long[0];
+		for (int i = 0; i < options.length; ++i) {
+			//Rules name options by opt, command line may match it by opt or long opt
+			Integer bit = options[i].getOpt() != null ? optionBits.get(options[i].getOpt()) : null;
+			if (bit != null) {
+				signature = setBit(signature, bit);
+			}
+			bit = options[i].getLongOpt() != null ? optionBits.get(options[i].getLongOpt()) : null;
+			if (bit != null) {
+				signature = setBit(signature, bit);
+			}
+		}
+		return signature;
+	}
+
+	private static long[] setBit(long[] bits, int bit) {
+		int word = bit >>> 6;
+		if (word >= bits.length) {
+			long[] tmp = new long[word + 1];
+			System.arraycopy(bits, 0, tmp, 0, bits.length);
+			bits = tmp;
+		}
+		bits[word] |= 1L << bit;
+		return bits;
+	}
+
+	private static boolean contains(long[] present, long[] required) {
+		for (int i = 0; i < required.length; ++i) {
+			long word = i < present.length ? present[i] : 0;
+			if ((required[i] & ~word) != 0) {
 				return false;
 			}
-		}else{
-			return true;
+		}
+		return true;
+	}
+
+	private static class IndexedRule {
+
+		final Rule rule;
+		final long[] signature;
+
+		IndexedRule(Rule rule, long[] signature) {
+			this.rule = rule;
+			this.signature = signature;
 		}
 	}
 
+	private static class RuleKey {
+
+		private final Object left;
+		private final int arity;
+
+		RuleKey(Object left, int arity) {
+			this.left = left;
+			this.arity = arity;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof RuleKey)) {
+				return false;
+			}
+			RuleKey key = (RuleKey) o;
+			return arity == key.arity && (left == null ? key.left == null : left.equals(key.left));
+		}
+
+		public int hashCode() {
+			return (left == null ? 0 : left.hashCode()) * 31 + arity;
+		}
+	}
 }
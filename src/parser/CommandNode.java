@@ -0,0 +1,42 @@
+/**
+ * Author: sphinks
+ * File: CommandNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import java.util.Collections;
+import java.util.List;
+
+import scanner.TokenKind;
+
+/**
+ * Command keyword with its arguments: modifiers, conditions and values.
+ */
+public class CommandNode extends Node {
+
+	private final TokenKind command;
+	private final List<Node> arguments;
+
+	CommandNode(TokenKind command, List<Node> arguments) {
+		this.command = command;
+		this.arguments = Collections.unmodifiableList(arguments);
+	}
+
+	public TokenKind getCommand() {
+		return command;
+	}
+
+	public List<Node> getArguments() {
+		return arguments;
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder(command.toString());
+		for (Node argument : arguments) {
+			b.append(' ').append(argument);
+		}
+		return b.toString();
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * Author: sphinks
+ * File: ConditionNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import scanner.TokenKind;
+
+/**
+ * Comparison of a field with a value, like priority <= 3.
+ */
+public class ConditionNode extends Node {
+
+	private final String field;
+	private final TokenKind operator;
+	private final Node value;
+
+	ConditionNode(String field, TokenKind operator, Node value) {
+		this.field = field;
+		this.operator = operator;
+		this.value = value;
+	}
+
+	public String getField() {
+		return field;
+	}
+
+	/**
+	 * One of EQUALS, LESS, MORE, LESS_EQUALS, MORE_EQUALS or NOT_EQUALS.
+	 */
+	public TokenKind getOperator() {
+		return operator;
+	}
+
+	public Node getValue() {
+		return value;
+	}
+
+	public String toString() {
+		return "(" + field + " " + operator + " " + value + ")";
+	}
+}
@@ -0,0 +1,37 @@
+/**
+ * Author: sphinks
+ * File: KeyNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+/**
+ * Issue key, like JRA-123. The scanner splits it into a word, a dash and a
+ * number, the parser joins them back.
+ */
+public class KeyNode extends Node {
+
+	private final String project;
+	private final String number;
+
+	KeyNode(String project, String number) {
+		this.project = project;
+		this.number = number;
+	}
+
+	public String getProject() {
+		return project;
+	}
+
+	/**
+	 * @return number as written, leading zeros are kept
+	 */
+	public String getNumber() {
+		return number;
+	}
+
+	public String toString() {
+		return project + "-" + number;
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * Author: sphinks
+ * File: ModifierNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+/**
+ * Modifier written as '-' name, like -s or -w.
+ */
+public class ModifierNode extends Node {
+
+	private final String name;
+
+	ModifierNode(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String toString() {
+		return "-" + name;
+	}
+}
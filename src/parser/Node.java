@@ -0,0 +1,13 @@
+/**
+ * Author: sphinks
+ * File: Node.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+/**
+ * Node of the syntax tree built by {@link PackratParser}.
+ */
+public abstract class Node {
+}
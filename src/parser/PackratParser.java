@@ -0,0 +1,235 @@
+/**
+ * Author: sphinks
+ * File: PackratParser.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import scanner.CharacterToken;
+import scanner.IntegerToken;
+import scanner.Token;
+import scanner.TokenKind;
+
+/**
+ * Parser of scanned scripts into a {@link ScriptNode}. Grammar:
+ * <pre>
+ * script    := ';'* (pipeline ';'*)*
+ * pipeline  := command ('|' command)*
+ * command   := keyword argument*
+ * argument  := '-' word | word compare value | value
+ * compare   := '=' | '&lt;' | '&gt;' | '&lt;=' | '&gt;=' | '&lt;&gt;'
+ * value     := atom '..' atom | atom
+ * atom      := word '-' integer | word | integer | real | string
+ * </pre>
+ * Alternatives are tried in order and the result of every rule at every
+ * position is memoized, so no rule is evaluated twice at one position and
+ * parsing takes linear time in the number of tokens.
+ * A parser is not thread safe, use one instance per thread.
+ */
+public class PackratParser {
+
+	private final static int PIPELINE = 0;
+	private final static int COMMAND = 1;
+	private final static int ARGUMENT = 2;
+	private final static int VALUE = 3;
+	private final static int ATOM = 4;
+	private final static int RULES = 5;
+
+	private Token[] tokens;
+	/** Per rule and position: 0 not tried, -1 failed, otherwise end position + 1. */
+	private int[][] ends;
+	private Node[][] nodes;
+	/** End position of the last successful rule. */
+	private int end;
+	private int errorPosition;
+
+	/**
+	 * @return syntax tree or null if tokens are not a valid script, see
+	 *    {@link #getErrorPosition()}
+	 */
+	public ScriptNode parse(Token[] tokens) {
+		this.tokens = tokens;
+		this.ends = new int[RULES][tokens.length + 1];
+		this.nodes = new Node[RULES][tokens.length + 1];
+		this.errorPosition = -1;
+		try {
+			List<PipelineNode> pipelines = new ArrayList<PipelineNode>();
+			int p = skip(0, TokenKind.SEMICOLON);
+			while (p < tokens.length) {
+				Node pipeline = rule(PIPELINE, p);
+				if (pipeline == null) {
+					return null;
+				}
+				pipelines.add((PipelineNode) pipeline);
+				p = skip(end, TokenKind.SEMICOLON);
+			}
+			errorPosition = -1;
+			return new ScriptNode(pipelines);
+		} finally {
+			this.tokens = null;
+			this.ends = null;
+			this.nodes = null;
+		}
+	}
+
+	/**
+	 * Index of the farthest token the last failed parse could not go past,
+	 * or -1 if the last parse succeeded.
+	 */
+	public int getErrorPosition() {
+		return errorPosition;
+	}
+
+	private Node rule(int rule, int position) {
+		int memo = ends[rule][position];
+		if (memo != 0) {
+			if (memo < 0) {
+				return null;
+			}
+			end = memo - 1;
+			return nodes[rule][position];
+		}
+		Node node;
+		switch (rule) {
+		case PIPELINE:
+			node = pipeline(position);
+			break;
+		case COMMAND:
+			node = command(position);
+			break;
+		case ARGUMENT:
+			node = argument(position);
+			break;
+		case VALUE:
+			node = value(position);
+			break;
+		default:
+			node = atom(position);
+		}
+		ends[rule][position] = node == null ? -1 : end + 1;
+		nodes[rule][position] = node;
+		return node;
+	}
+
+	private Node pipeline(int position) {
+		Node command = rule(COMMAND, position);
+		if (command == null) {
+			return null;
+		}
+		List<CommandNode> commands = new ArrayList<CommandNode>();
+		commands.add((CommandNode) command);
+		int p = end;
+		while (is(p, TokenKind.PIPE) && (command = rule(COMMAND, p + 1)) != null) {
+			commands.add((CommandNode) command);
+			p = end;
+		}
+		end = p;
+		return new PipelineNode(commands);
+	}
+
+	private Node command(int position) {
+		if (position >= tokens.length || !tokens[position].getKind().isKeyword()) {
+			fail(position);
+			return null;
+		}
+		List<Node> arguments = new ArrayList<Node>();
+		int p = position + 1;
+		Node argument;
+		while ((argument = rule(ARGUMENT, p)) != null) {
+			arguments.add(argument);
+			p = end;
+		}
+		end = p;
+		return new CommandNode(tokens[position].getKind(), arguments);
+	}
+
+	private Node argument(int position) {
+		if (is(position, TokenKind.DASH) && is(position + 1, TokenKind.CHARACTER_LITERAL)) {
+			end = position + 2;
+			return new ModifierNode(word(position + 1));
+		}
+		if (is(position, TokenKind.CHARACTER_LITERAL) && isComparison(position + 1)) {
+			Node value = rule(VALUE, position + 2);
+			if (value != null) {
+				return new ConditionNode(word(position), tokens[position + 1].getKind(), value);
+			}
+		}
+		return rule(VALUE, position);
+	}
+
+	private Node value(int position) {
+		Node from = rule(ATOM, position);
+		if (from == null) {
+			return null;
+		}
+		int p = end;
+		if (is(p, TokenKind.DOT_DOT)) {
+			Node to = rule(ATOM, p + 1);
+			if (to != null) {
+				return new RangeNode(from, to);
+			}
+		}
+		end = p;
+		return from;
+	}
+
+	private Node atom(int position) {
+		if (is(position, TokenKind.CHARACTER_LITERAL) && is(position + 1, TokenKind.DASH)
+				&& is(position + 2, TokenKind.INTEGER_LITERAL)) {
+			end = position + 3;
+			return new KeyNode(word(position), ((IntegerToken) tokens[position + 2]).getText());
+		}
+		if (is(position, TokenKind.CHARACTER_LITERAL) || is(position, TokenKind.INTEGER_LITERAL)
+				|| is(position, TokenKind.REAL_LITERAL) || is(position, TokenKind.STRING_LITERAL)) {
+			end = position + 1;
+			return new ValueNode(tokens[position]);
+		}
+		fail(position);
+		return null;
+	}
+
+	private boolean isComparison(int position) {
+		if (position >= tokens.length) {
+			return false;
+		}
+		switch (tokens[position].getKind()) {
+		case EQUALS:
+		case LESS:
+		case MORE:
+		case LESS_EQUALS:
+		case MORE_EQUALS:
+		case NOT_EQUALS:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private boolean is(int position, TokenKind kind) {
+		if (position < tokens.length && tokens[position].getKind() == kind) {
+			return true;
+		}
+		fail(position);
+		return false;
+	}
+
+	private int skip(int position, TokenKind kind) {
+		int p = position;
+		for (; p < tokens.length && tokens[p].getKind() == kind; ++p) { }
+		return p;
+	}
+
+	private String word(int position) {
+		return ((CharacterToken) tokens[position]).getValue();
+	}
+
+	private void fail(int position) {
+		if (position > errorPosition) {
+			errorPosition = position;
+		}
+	}
+}
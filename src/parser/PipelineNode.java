@@ -0,0 +1,34 @@
+/**
+ * Author: sphinks
+ * File: PipelineNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Commands joined by '|', output of each one is input of the next.
+ */
+public class PipelineNode extends Node {
+
+	private final List<CommandNode> commands;
+
+	PipelineNode(List<CommandNode> commands) {
+		this.commands = Collections.unmodifiableList(commands);
+	}
+
+	public List<CommandNode> getCommands() {
+		return commands;
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		for (int i = 0; i < commands.size(); ++i) {
+			b.append(i > 0 ? " | " : "").append(commands.get(i));
+		}
+		return b.toString();
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * Author: sphinks
+ * File: RangeNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+/**
+ * Inclusive range written as from..to.
+ */
+public class RangeNode extends Node {
+
+	private final Node from;
+	private final Node to;
+
+	RangeNode(Node from, Node to) {
+		this.from = from;
+		this.to = to;
+	}
+
+	public Node getFrom() {
+		return from;
+	}
+
+	public Node getTo() {
+		return to;
+	}
+
+	public String toString() {
+		return "[" + from + ".." + to + "]";
+	}
+}
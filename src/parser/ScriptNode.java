@@ -0,0 +1,34 @@
+/**
+ * Author: sphinks
+ * File: ScriptNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Whole script: pipelines in order they are written.
+ */
+public class ScriptNode extends Node {
+
+	private final List<PipelineNode> pipelines;
+
+	ScriptNode(List<PipelineNode> pipelines) {
+		this.pipelines = Collections.unmodifiableList(pipelines);
+	}
+
+	public List<PipelineNode> getPipelines() {
+		return pipelines;
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		for (PipelineNode pipeline : pipelines) {
+			b.append(pipeline).append(";\n");
+		}
+		return b.toString();
+	}
+}
@@ -0,0 +1,29 @@
+/**
+ * Author: sphinks
+ * File: ValueNode.java
+ * Date: 18.10.2026
+ */
+
+package parser;
+
+import scanner.Token;
+
+/**
+ * Single word, number or string token used as a value.
+ */
+public class ValueNode extends Node {
+
+	private final Token token;
+
+	ValueNode(Token token) {
+		this.token = token;
+	}
+
+	public Token getToken() {
+		return token;
+	}
+
+	public String toString() {
+		return token.toString();
+	}
+}
@@ -13,4 +13,8 @@ class CharUtils {
 	static boolean isDigit(char c) {
 		return c >= '0' && c <= '9';
 	}
+
+	static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+	}
 }
\ No newline at end of file
@@ -8,20 +8,19 @@ package scanner;
 
 class CharacterPattern extends Pattern{
 
-	MatchResult match(char[] in, int start) {
+	MatchResult match(char[] in, int start, int end) {
 		int i = start;
 		//TODO need to look for all symbol in for cycle, some of them can be forbidden or unused
-		for (; i < in.length && in[i] != ' ' && in[i] != '{' && in[i] != '=' && 
+		for (; i < end && !CharUtils.isSpace(in[i]) && in[i] != '{' && in[i] != '=' && 
 		in[i] != ':' && in[i] != ';' && in[i] != '"' && in[i] != '(' && 
 		in[i] != ')' && in[i] != '<' && in[i] != '>' && in[i] != '.' && in[i] != '-' && in[i] != '|'; ++i) { }
 		if (i > start) {
 			Token token;
-			String s = new String(in, start, i - start);
-			TokenKind k = (TokenKind) Token.command.get(s);
+			TokenKind k = Keywords.lookup(in, start, i - start);
 			if (k != null){
 				token = new Token(k);
 			} else {
-				token = new CharacterToken(s);
+				token = new CharacterToken(new String(in, start, i - start));
 			}
 			return new TokenMatchResult(i - start, token);
 		} else {
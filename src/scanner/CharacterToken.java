@@ -6,20 +6,13 @@
 
 package scanner;
 
-class CharacterToken extends Token {
-
-	private String value;
+public class CharacterToken extends LexemeToken {
 
 	CharacterToken(String value) {
-		super(TokenKind.CHARACTER_LITERAL);
-		this.value = value;
-	}
-
-	String getValue() {
-		return value;
+		super(TokenKind.CHARACTER_LITERAL, value);
 	}
 
-	public String toString() {
-		return super.toString() + ": " + value;
+	CharacterToken(char[] source, int offset, int length) {
+		super(TokenKind.CHARACTER_LITERAL, source, offset, length);
 	}
 }
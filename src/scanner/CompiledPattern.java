@@ -0,0 +1,205 @@
+/**
+ * Author: sphinks
+ * File: CompiledPattern.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+/**
+ * Single pass equivalent of trying all {@link Scanner#PATTERNS} and keeping the
+ * longest result. The first character selects a state from a class table and
+ * every following character is looked at once. Produces the same tokens as the
+ * reference patterns, which stay the specification of the scanner.
+ * <p>
+ * Scanning does not allocate in steady state: tokens without value are shared
+ * per kind, tokens with value are interned per lexeme in a {@link LexemeTable}
+ * and the returned MatchResult is reused between calls. Tokens do not refer to
+ * the scanned input. The result is only valid until the next call, so an
+ * instance must not be shared between threads.
+ */
+class CompiledPattern extends Pattern {
+
+	private final static byte OTHER = 0;
+	private final static byte SPACE = 1;
+	private final static byte QUOTE = 2;
+	private final static byte PUNCTUATION = 3;
+	private final static byte COMMA = 4;
+	private final static byte DIGIT = 5;
+	private final static byte FORBIDDEN = 6;
+
+	private final static byte[] CHAR_CLASS = new byte[128];
+
+	/** Characters ending a CharacterPattern match. */
+	private final static boolean[] IDENTIFIER_STOP = new boolean[128];
+
+	static {
+		CHAR_CLASS[' '] = SPACE;
+		CHAR_CLASS['\t'] = SPACE;
+		CHAR_CLASS['\r'] = SPACE;
+		CHAR_CLASS['\n'] = SPACE;
+		CHAR_CLASS['"'] = QUOTE;
+		CHAR_CLASS[','] = COMMA;
+		for (char c = '0'; c <= '9'; ++c) {
+			CHAR_CLASS[c] = DIGIT;
+		}
+		char[] punctuation = {':', ';', '=', '|', '-', '<', '>', '.'};
+		for (int i = 0; i < punctuation.length; ++i) {
+			CHAR_CLASS[punctuation[i]] = PUNCTUATION;
+		}
+		CHAR_CLASS['{'] = FORBIDDEN;
+		CHAR_CLASS['('] = FORBIDDEN;
+		CHAR_CLASS[')'] = FORBIDDEN;
+
+		char[] stop = {' ', '\t', '\r', '\n', '{', '=', ':', ';', '"', '(', ')', '<', '>', '.', '-', '|'};
+		for (int i = 0; i < stop.length; ++i) {
+			IDENTIFIER_STOP[stop[i]] = true;
+		}
+	}
+
+	private final LexemeTable lexemes = new LexemeTable();
+	private final IgnorableMatchResult ignorableResult = new IgnorableMatchResult(0);
+	private final TokenMatchResult tokenResult = new TokenMatchResult(0, null);
+
+	MatchResult match(char[] in, int start, int end) {
+		char c = in[start];
+		switch (c < 128 ? CHAR_CLASS[c] : OTHER) {
+		case SPACE:
+			return matchSpaces(in, start, end);
+		case QUOTE:
+			return matchString(in, start, end);
+		case PUNCTUATION:
+			return matchPunctuation(in, start, end);
+		case COMMA:
+			return matchComma(in, start, end);
+		case DIGIT:
+			return matchNumber(in, start, end);
+		case FORBIDDEN:
+			return FailureMatchResult.INSTANCE;
+		default:
+			return identifier(in, start, identifierEnd(in, start + 1, end));
+		}
+	}
+
+	private MatchResult matchSpaces(char[] in, int start, int end) {
+		int i = start + 1;
+		for (; i < end && CharUtils.isSpace(in[i]); ++i) { }
+		ignorableResult.setEatenCount(i - start);
+		return ignorableResult;
+	}
+
+	private MatchResult matchString(char[] in, int start, int end) {
+		int i = start + 1;
+		for (; i < end && in[i] != '"'; ++i) { }
+		if (i < end) {
+			//Closing quote
+			i++;
+		}
+		return token(i - start, intern(in, start, i - start, TokenKind.STRING_LITERAL));
+	}
+
+	private MatchResult matchPunctuation(char[] in, int start, int end) {
+		boolean hasNext = start + 1 < end;
+		switch (in[start]) {
+		case ':':
+			return token(1, Token.of(TokenKind.COLON));
+		case ';':
+			return token(1, Token.of(TokenKind.SEMICOLON));
+		case '=':
+			return token(1, Token.of(TokenKind.EQUALS));
+		case '|':
+			return token(1, Token.of(TokenKind.PIPE));
+		case '-':
+			return token(1, Token.of(TokenKind.DASH));
+		case '<':
+			if (hasNext && in[start+1] == '>') {
+				return token(2, Token.of(TokenKind.NOT_EQUALS));
+			}
+			if (hasNext && in[start+1] == '=') {
+				return token(2, Token.of(TokenKind.LESS_EQUALS));
+			}
+			return token(1, Token.of(TokenKind.LESS));
+		case '>':
+			if (hasNext && in[start+1] == '=') {
+				return token(2, Token.of(TokenKind.MORE_EQUALS));
+			}
+			return token(1, Token.of(TokenKind.MORE));
+		default:
+			if (hasNext && in[start+1] == '.') {
+				return token(2, Token.of(TokenKind.DOT_DOT));
+			}
+			return token(1, Token.of(TokenKind.DOT));
+		}
+	}
+
+	private MatchResult matchComma(char[] in, int start, int end) {
+		int i = identifierEnd(in, start + 1, end);
+		if (i - start > 1) {
+			return identifier(in, start, i);
+		}
+		return token(1, Token.of(TokenKind.COMMA));
+	}
+
+	private MatchResult matchNumber(char[] in, int start, int end) {
+		int i = start + 1;
+		for (; i < end && CharUtils.isDigit(in[i]); ++i) { }
+		if (i < end && in[i] == '.' && !(i + 1 < end && in[i+1] == '.')) {
+			//Identifier stops at '.', so the real number is always longer
+			++i;
+			for (; i < end && CharUtils.isDigit(in[i]); ++i) { }
+			return token(i - start, intern(in, start, i - start, TokenKind.REAL_LITERAL));
+		}
+		int identifierEnd = identifierEnd(in, i, end);
+		if (identifierEnd > i || !NumberPattern.fitsLong(in, start, i - start)) {
+			return identifier(in, start, identifierEnd);
+		}
+		return token(i - start, intern(in, start, i - start, TokenKind.INTEGER_LITERAL));
+	}
+
+	private int identifierEnd(char[] in, int from, int end) {
+		int i = from;
+		for (; i < end && (in[i] >= 128 || !IDENTIFIER_STOP[in[i]]); ++i) { }
+		return i;
+	}
+
+	private MatchResult identifier(char[] in, int start, int end) {
+		TokenKind keyword = Keywords.lookup(in, start, end - start);
+		if (keyword != null) {
+			return token(end - start, Token.of(keyword));
+		}
+		return token(end - start, intern(in, start, end - start, TokenKind.CHARACTER_LITERAL));
+	}
+
+	private MatchResult token(int eatenCount, Token token) {
+		tokenResult.setEatenCount(eatenCount);
+		tokenResult.setToken(token);
+		return tokenResult;
+	}
+
+	private Token intern(char[] in, int start, int length, TokenKind kind) {
+		Token token = lexemes.get(in, start, length);
+		if (token == null) {
+			if (lexemes.hasRoom(length)) {
+				token = lexemes.put(in, start, length, kind);
+			} else {
+				token = newToken(in, start, length, kind);
+				if (token instanceof LexemeToken) {
+					//Token is not kept by the table, it must not keep the input
+					((LexemeToken) token).detach();
+				}
+			}
+		}
+		return token;
+	}
+
+	static Token newToken(char[] in, int start, int length, TokenKind kind) {
+		switch (kind) {
+		case CHARACTER_LITERAL:
+			return new CharacterToken(in, start, length);
+		case STRING_LITERAL:
+			return new StringToken(in, start, length);
+		default:
+			return NumberPattern.toToken(in, start, length, kind == TokenKind.REAL_LITERAL);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * Author: sphinks
+ * File: IncrementalScanner.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Scanner of an edited line which keeps all matches of the last scan,
+ * including ignorable ones, and after an edit re-scans only the damaged part.
+ * <p>
+ * A match depends on its own characters and on up to LOOKAHEAD characters
+ * after it, so scanning restarts at the first match whose look ahead reaches
+ * the edit. It stops as soon as
+ * a new match ends behind the edit exactly where an old match used to start;
+ * from there old matches are reused with shifted positions.
+ * Characters no pattern matches are kept as one character error matches, so a
+ * half typed line can still be highlighted.
+ */
+public class IncrementalScanner {
+
+	private final static int DEFAULT_CAPACITY = 16;
+
+	/** Number followed by a dot looks one more character ahead for a range. */
+	private final static int LOOKAHEAD = 2;
+
+	private final Scanner scanner;
+	private final Matches matches;
+	private char[] text;
+
+	public IncrementalScanner(String text) {
+		this(text, true);
+	}
+
+	/**
+	 * @param compiled scan with compiled scanner, see {@link Scanner#Scanner(boolean)}
+	 */
+	public IncrementalScanner(String text, boolean compiled) {
+		this.scanner = new Scanner(compiled);
+		this.matches = new Matches();
+		this.text = new char[0];
+		edit(0, 0, text);
+	}
+
+	/**
+	 * Replace removed characters at offset with inserted and re-scan.
+	 */
+	public void edit(int offset, int removed, String inserted) {
+		if (offset < 0 || removed < 0 || offset + removed > text.length) {
+			throw new IndexOutOfBoundsException("Edit " + offset + "+" + removed + " of text of length " + text.length);
+		}
+		int delta = inserted.length() - removed;
+		char[] newText = new char[text.length + delta];
+		System.arraycopy(text, 0, newText, 0, offset);
+		inserted.getChars(0, inserted.length(), newText, offset);
+		System.arraycopy(text, offset + removed, newText, offset + inserted.length(), text.length - offset - removed);
+
+		int first = matches.firstReaching(offset - LOOKAHEAD + 1);
+		int p = first < matches.size ? matches.starts[first] : 0;
+		int editEnd = offset + inserted.length();
+		int reused = first;
+		boolean synced = false;
+
+		Matches relexed = new Matches();
+		while (p < newText.length) {
+			if (p >= editEnd) {
+				int oldPosition = p - delta;
+				while (reused < matches.size && matches.starts[reused] < oldPosition) {
+					reused++;
+				}
+				if (reused < matches.size && matches.starts[reused] == oldPosition) {
+					synced = true;
+					break;
+				}
+			}
+			SuccessMatchResult result = scanner.match(newText, p, newText.length);
+			if (result == null) {
+				relexed.add(p, 1, null, true);
+				p++;
+			} else {
+				Token token = result instanceof TokenMatchResult ? ((TokenMatchResult) result).getToken() : null;
+				relexed.add(p, result.getEatenCount(), token, false);
+				p += result.getEatenCount();
+			}
+		}
+		matches.splice(first, synced ? reused : matches.size, relexed, delta);
+		text = newText;
+	}
+
+	public String getText() {
+		return new String(text);
+	}
+
+	/**
+	 * Tokens of the current text in order, without ignorable and error matches.
+	 */
+	public Token[] getTokens() {
+		int count = 0;
+		for (int i = 0; i < matches.size; ++i) {
+			if (matches.tokens[i] != null) {
+				count++;
+			}
+		}
+		Token[] result = new Token[count];
+		for (int i = 0, j = 0; i < matches.size; ++i) {
+			if (matches.tokens[i] != null) {
+				result[j++] = matches.tokens[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return token covering character at offset or null for spaces and errors
+	 */
+	public Token tokenAt(int offset) {
+		int i = matches.firstReaching(offset + 1);
+		return i < matches.size && matches.starts[i] <= offset ? matches.tokens[i] : null;
+	}
+
+	public boolean hasErrors() {
+		return matches.errorCount > 0;
+	}
+
+	/**
+	 * Matches in text order kept in parallel arrays. Token is null for
+	 * ignorable and error matches.
+	 */
+	private static class Matches {
+
+		int[] starts = new int[DEFAULT_CAPACITY];
+		int[] lengths = new int[DEFAULT_CAPACITY];
+		Token[] tokens = new Token[DEFAULT_CAPACITY];
+		boolean[] errors = new boolean[DEFAULT_CAPACITY];
+		int size = 0;
+		int errorCount = 0;
+
+		void add(int start, int length, Token token, boolean error) {
+			ensureCapacity(size + 1);
+			starts[size] = start;
+			lengths[size] = length;
+			tokens[size] = token;
+			errors[size] = error;
+			if (error) {
+				errorCount++;
+			}
+			size++;
+		}
+
+		/**
+		 * Replace matches [from, to) with relexed ones and shift the rest by delta.
+		 */
+		void splice(int from, int to, Matches relexed, int delta) {
+			for (int i = from; i < to; ++i) {
+				if (errors[i]) {
+					errorCount--;
+				}
+			}
+			errorCount += relexed.errorCount;
+			int tail = size - to;
+			int tailStart = from + relexed.size;
+			int newSize = tailStart + tail;
+			ensureCapacity(newSize);
+			System.arraycopy(starts, to, starts, tailStart, tail);
+			System.arraycopy(lengths, to, lengths, tailStart, tail);
+			System.arraycopy(tokens, to, tokens, tailStart, tail);
+			System.arraycopy(errors, to, errors, tailStart, tail);
+			System.arraycopy(relexed.starts, 0, starts, from, relexed.size);
+			System.arraycopy(relexed.lengths, 0, lengths, from, relexed.size);
+			System.arraycopy(relexed.tokens, 0, tokens, from, relexed.size);
+			System.arraycopy(relexed.errors, 0, errors, from, relexed.size);
+			for (int i = tailStart; i < newSize; ++i) {
+				starts[i] += delta;
+			}
+			if (newSize < size) {
+				Arrays.fill(tokens, newSize, size, null);
+			}
+			size = newSize;
+		}
+
+		/**
+		 * @return index of first match whose end is at or after offset, or size
+		 */
+		int firstReaching(int offset) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (starts[middle] + lengths[middle] < offset) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > starts.length) {
+				int newCapacity = Math.max(capacity, starts.length << 1);
+				starts = Arrays.copyOf(starts, newCapacity);
+				lengths = Arrays.copyOf(lengths, newCapacity);
+				tokens = Arrays.copyOf(tokens, newCapacity);
+				errors = Arrays.copyOf(errors, newCapacity);
+			}
+		}
+	}
+}
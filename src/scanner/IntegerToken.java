@@ -6,19 +6,36 @@
 
 package scanner;
 
-class IntegerToken extends Token {
+public class IntegerToken extends Token {
 
-	private int value;
+	private long value;
+	private int digits;
 
-	IntegerToken(int value) {
+	IntegerToken(long value, int digits) {
 		super(TokenKind.INTEGER_LITERAL);
 		this.value = value;
+		this.digits = digits;
 	}
 
-	int getValue() {
+	public long getValue() {
 		return value;
 	}
 
+	/**
+	 * @return digits as written, keeping leading zeros like in 007
+	 */
+	public String getText() {
+		String text = Long.toString(value);
+		if (text.length() >= digits) {
+			return text;
+		}
+		StringBuilder b = new StringBuilder(digits);
+		for (int i = text.length(); i < digits; ++i) {
+			b.append('0');
+		}
+		return b.append(text).toString();
+	}
+
 	public String toString() {
 		return super.toString() + ": " + value;
 	}
@@ -0,0 +1,91 @@
+/**
+ * Author: sphinks
+ * File: Keywords.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+/**
+ * Perfect hash table of keyword kinds. On class load a multiplier is searched
+ * for which every keyword name gets its own slot, so lookup of a char slice is
+ * one hash computation and one comparison, without building a String.
+ */
+final class Keywords {
+
+	private final static int MAX_MULTIPLIER = 1 << 12;
+
+	private static char[][] names;
+	private static TokenKind[] kinds;
+	private static int multiplier;
+	private static int mask;
+
+	private Keywords() { }
+
+	static {
+		int count = 0;
+		for (int i = 0; i < TokenKind.count(); ++i) {
+			if (TokenKind.valueOf(i).isKeyword()) {
+				count++;
+			}
+		}
+		int size = Integer.highestOneBit(Math.max(count, 1)) << 1;
+		while (!build(size)) {
+			size <<= 1;
+		}
+	}
+
+	/**
+	 * @return keyword kind for in[start, start + length) or null
+	 */
+	static TokenKind lookup(char[] in, int start, int length) {
+		int slot = hash(multiplier, in, start, length) & mask;
+		char[] name = names[slot];
+		if (name == null || name.length != length) {
+			return null;
+		}
+		for (int i = 0; i < length; ++i) {
+			if (name[i] != in[start + i]) {
+				return null;
+			}
+		}
+		return kinds[slot];
+	}
+
+	private static boolean build(int size) {
+		for (int m = 31; m < MAX_MULTIPLIER; m += 2) {
+			char[][] n = new char[size][];
+			TokenKind[] k = new TokenKind[size];
+			boolean perfect = true;
+			for (int i = 0; i < TokenKind.count() && perfect; ++i) {
+				TokenKind kind = TokenKind.valueOf(i);
+				if (kind.isKeyword()) {
+					char[] name = kind.toString().toCharArray();
+					int slot = hash(m, name, 0, name.length) & (size - 1);
+					if (n[slot] == null) {
+						n[slot] = name;
+						k[slot] = kind;
+					} else {
+						perfect = false;
+					}
+				}
+			}
+			if (perfect) {
+				names = n;
+				kinds = k;
+				multiplier = m;
+				mask = size - 1;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int hash(int multiplier, char[] in, int start, int length) {
+		int h = length;
+		for (int i = start; i < start + length; ++i) {
+			h = h * multiplier + in[i];
+		}
+		return h ^ (h >>> 16);
+	}
+}
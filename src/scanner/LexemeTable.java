@@ -0,0 +1,141 @@
+/**
+ * Author: sphinks
+ * File: LexemeTable.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+/**
+ * Open addressing table from lexeme characters to the token scanned from them.
+ * Lookup compares against the scanned input without copying it. A new lexeme
+ * is copied once into chunks owned by the table and its token is a slice of
+ * that copy, so neither the table nor its tokens keep scanned arrays
+ * reachable and callers may change or drop an array right after scanning it.
+ * Memory is bounded: lexemes longer than MAX_LEXEME_LENGTH are not stored and
+ * the table stops accepting new lexemes after MAX_SIZE entries or MAX_CHARS
+ * characters.
+ */
+class LexemeTable {
+
+	private final static int INITIAL_CAPACITY = 64;
+	private final static int MAX_SIZE = 1 << 16;
+	private final static int MAX_CHARS = 1 << 20;
+	private final static int MAX_LEXEME_LENGTH = 256;
+	private final static int CHUNK_SIZE = 1 << 13;
+
+	private char[][] sources;
+	private int[] offsets;
+	private int[] lengths;
+	private Token[] tokens;
+	private int size;
+
+	/** Chunk new lexemes are copied to and characters used in it. */
+	private char[] chunk;
+	private int chunkUsed;
+	private int chars;
+
+	LexemeTable() {
+		allocate(INITIAL_CAPACITY);
+		size = 0;
+		chunk = new char[CHUNK_SIZE];
+		chunkUsed = 0;
+		chars = 0;
+	}
+
+	/**
+	 * @return token stored for in[start, start + length) or null
+	 */
+	Token get(char[] in, int start, int length) {
+		int mask = sources.length - 1;
+		for (int i = hash(in, start, length) & mask; sources[i] != null; i = (i + 1) & mask) {
+			if (equals(i, in, start, length)) {
+				return tokens[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return false if put would ignore a new lexeme of given length
+	 */
+	boolean hasRoom(int length) {
+		return size < MAX_SIZE && length <= MAX_LEXEME_LENGTH && chars + length <= MAX_CHARS;
+	}
+
+	/**
+	 * Copy lexeme in[start, start + length), which is not in the table yet and
+	 * fits by {@link #hasRoom(int)}, and store a token of kind scanned from
+	 * the copy.
+	 *
+	 * @return the stored token
+	 */
+	Token put(char[] in, int start, int length, TokenKind kind) {
+		if (chunkUsed + length > chunk.length) {
+			chunk = new char[CHUNK_SIZE];
+			chunkUsed = 0;
+		}
+		System.arraycopy(in, start, chunk, chunkUsed, length);
+		Token token = CompiledPattern.newToken(chunk, chunkUsed, length, kind);
+		if ((size + 1) << 1 > sources.length) {
+			grow();
+		}
+		insert(chunk, chunkUsed, length, token);
+		chunkUsed += length;
+		chars += length;
+		size++;
+		return token;
+	}
+
+	private void insert(char[] in, int start, int length, Token token) {
+		int mask = sources.length - 1;
+		int i = hash(in, start, length) & mask;
+		for (; sources[i] != null; i = (i + 1) & mask) { }
+		sources[i] = in;
+		offsets[i] = start;
+		lengths[i] = length;
+		tokens[i] = token;
+	}
+
+	private void allocate(int capacity) {
+		sources = new char[capacity][];
+		offsets = new int[capacity];
+		lengths = new int[capacity];
+		tokens = new Token[capacity];
+	}
+
+	private void grow() {
+		char[][] oldSources = sources;
+		int[] oldOffsets = offsets;
+		int[] oldLengths = lengths;
+		Token[] oldTokens = tokens;
+		allocate(oldSources.length << 1);
+		for (int i = 0; i < oldSources.length; ++i) {
+			if (oldSources[i] != null) {
+				insert(oldSources[i], oldOffsets[i], oldLengths[i], oldTokens[i]);
+			}
+		}
+	}
+
+	private static int hash(char[] in, int start, int length) {
+		int h = 0;
+		for (int i = start; i < start + length; ++i) {
+			h = 31 * h + in[i];
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private boolean equals(int entry, char[] in, int start, int length) {
+		if (lengths[entry] != length) {
+			return false;
+		}
+		char[] key = sources[entry];
+		int offset = offsets[entry];
+		for (int i = 0; i < length; ++i) {
+			if (key[offset + i] != in[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
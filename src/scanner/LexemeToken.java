@@ -0,0 +1,56 @@
+/**
+ * Author: sphinks
+ * File: LexemeToken.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Token carrying the text it was scanned from. The text may be kept as an
+ * (offset, length) slice of the scanned characters, in which case the String
+ * is only built when somebody asks for the value. A slice is a view: it is
+ * copied by {@link #detach()} when the token must not keep the characters.
+ */
+public abstract class LexemeToken extends Token {
+
+	private char[] source;
+	private int offset;
+	private int length;
+	private String value;
+
+	LexemeToken(TokenKind kind, String value) {
+		super(kind);
+		this.value = value;
+	}
+
+	LexemeToken(TokenKind kind, char[] source, int offset, int length) {
+		super(kind);
+		this.source = source;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	public String getValue() {
+		if (value == null) {
+			value = new String(source, offset, length);
+		}
+		return value;
+	}
+
+	/**
+	 * Copy the slice so the token does not depend on the scanned characters.
+	 */
+	void detach() {
+		if (value == null) {
+			source = Arrays.copyOfRange(source, offset, offset + length);
+			offset = 0;
+		}
+	}
+
+	public String toString() {
+		return super.toString() + ": " + getValue();
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * Author: sphinks
+ * File: MappedFileSource.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * UTF-8 file source for {@link TokenStream} reading straight from memory
+ * mapped regions of the file. Characters are decoded only when the stream asks
+ * for them, so a file of any size is scanned without being copied onto the heap.
+ * ASCII bytes are copied directly, other bytes go through a CharsetDecoder.
+ */
+public class MappedFileSource implements Readable, Closeable {
+
+	private final static long REGION_SIZE = 1L << 28;
+
+	private final FileChannel channel;
+	private final long size;
+	private final CharsetDecoder decoder;
+	private final CharBuffer pending;
+	private MappedByteBuffer region;
+	private long regionStart;
+
+	public MappedFileSource(File file) throws IOException {
+		this.channel = new FileInputStream(file).getChannel();
+		this.size = channel.size();
+		this.decoder = Charset.forName("UTF-8").newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.pending = CharBuffer.allocate(2);
+		this.pending.flip();
+		this.region = null;
+		this.regionStart = 0;
+	}
+
+	public int read(CharBuffer out) throws IOException {
+		int before = out.position();
+		while (out.hasRemaining() && pending.hasRemaining()) {
+			out.put(pending.get());
+		}
+		while (out.hasRemaining() && nextRegion()) {
+			int n = Math.min(out.remaining(), region.remaining());
+			int i = 0;
+			for (; i < n; ++i) {
+				byte b = region.get();
+				if (b < 0) {
+					region.position(region.position() - 1);
+					break;
+				}
+				out.put((char) b);
+			}
+			if (i < n) {
+				decode(out);
+			}
+		}
+		int read = out.position() - before;
+		return read == 0 && out.hasRemaining() ? -1 : read;
+	}
+
+	public void close() throws IOException {
+		region = null;
+		channel.close();
+	}
+
+	private void decode(CharBuffer out) throws IOException {
+		int position = region.position();
+		boolean last = regionStart + region.limit() == size;
+		CoderResult result = decoder.decode(region, out, last);
+		if (result.isUnderflow() && region.hasRemaining() && !last) {
+			//Character is split between regions, map again from its first byte
+			map(regionStart + region.position());
+		} else if (result.isOverflow() && region.position() == position) {
+			//Surrogate pair does not fit, keep its second half for next read
+			pending.clear();
+			decoder.decode(region, pending, last);
+			pending.flip();
+			out.put(pending.get());
+		}
+	}
+
+	private boolean nextRegion() throws IOException {
+		if (region != null && region.hasRemaining()) {
+			return true;
+		}
+		long position = region == null ? 0 : regionStart + region.limit();
+		if (position >= size) {
+			return false;
+		}
+		map(position);
+		return true;
+	}
+
+	private void map(long position) throws IOException {
+		regionStart = position;
+		region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position));
+	}
+}
@@ -8,26 +8,114 @@ package scanner;
 
 class NumberPattern extends Pattern {
 
-	MatchResult match(char[] in, int start) {
+	/** Powers of ten which are exact doubles. */
+	private final static double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Mantissa of up to 15 digits is always an exact double. */
+	private final static int MAX_EXACT_DIGITS = 15;
+
+	/** Any number of up to 18 digits fits into long. */
+	private final static int MAX_SAFE_LONG_DIGITS = 18;
+
+	MatchResult match(char[] in, int start, int end) {
 		int i = start;
 		boolean hasDot = false;
-		for (; i < in.length && CharUtils.isDigit(in[i]) && in[i] != '{' && in[i] != '=' && in[i] != ':' && in[i] != ';'; ++i) { }
-		if (i < in.length && in[i] == '.' && i != start) {
+		for (; i < end && CharUtils.isDigit(in[i]) && in[i] != '{' && in[i] != '=' && in[i] != ':' && in[i] != ';'; ++i) { }
+		//Dot followed by another dot is a range, like 1..10
+		if (i < end && in[i] == '.' && i != start && !(i + 1 < end && in[i+1] == '.')) {
 			++i;
 			hasDot = true;
-			for (; i < in.length && CharUtils.isDigit(in[i]); ++i) { }
-		}
-		if (i > start) {
-			Token token;
-			String s = new String(in, start, i - start);
-			if (hasDot) {
-				token = new RealToken(Double.parseDouble(s));
-			} else {
-				token = new IntegerToken(Integer.parseInt(s));
-			}
-			return new TokenMatchResult(i - start, token);
+			for (; i < end && CharUtils.isDigit(in[i]); ++i) { }
+		}
+		//Integer too big for long is left to CharacterPattern, like a word
+		if (i > start && (hasDot || fitsLong(in, start, i - start))) {
+			return new TokenMatchResult(i - start, toToken(in, start, i - start, hasDot));
 		} else {
 			return FailureMatchResult.INSTANCE;
 		}
 	}
+
+	static Token toToken(char[] in, int start, int length, boolean hasDot) {
+		if (hasDot) {
+			return new RealToken(parseReal(in, start, length));
+		} else {
+			return new IntegerToken(parseLong(in, start, length), length);
+		}
+	}
+
+	/**
+	 * @return true if digits in[start, start + length) fit into long
+	 */
+	static boolean fitsLong(char[] in, int start, int length) {
+		if (length <= MAX_SAFE_LONG_DIGITS) {
+			return true;
+		}
+		long value = 0;
+		for (int i = start; i < start + length; ++i) {
+			int digit = in[i] - '0';
+			if (value > (Long.MAX_VALUE - digit) / 10) {
+				return false;
+			}
+			value = value * 10 + digit;
+		}
+		return true;
+	}
+
+	/**
+	 * Parse digits in[start, start + length) without building a String.
+	 *
+	 * @throws NumberFormatException if number does not fit into long
+	 */
+	static long parseLong(char[] in, int start, int length) {
+		long value = 0;
+		if (length <= MAX_SAFE_LONG_DIGITS) {
+			for (int i = start; i < start + length; ++i) {
+				value = value * 10 + (in[i] - '0');
+			}
+			return value;
+		}
+		for (int i = start; i < start + length; ++i) {
+			int digit = in[i] - '0';
+			if (value > (Long.MAX_VALUE - digit) / 10) {
+				throw new NumberFormatException("Number is too big: " + new String(in, start, length));
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Parse digits with one dot. When both the digits and the power of ten
+	 * are exact doubles, a single division gives the correctly rounded value,
+	 * otherwise parsing falls back to Double.parseDouble.
+	 */
+	static double parseReal(char[] in, int start, int length) {
+		long mantissa = 0;
+		int digits = 0;
+		int fraction = 0;
+		boolean afterDot = false;
+		for (int i = start; i < start + length; ++i) {
+			char c = in[i];
+			if (c == '.') {
+				afterDot = true;
+				continue;
+			}
+			if (afterDot) {
+				fraction++;
+			}
+			if (digits == 0 && c == '0') {
+				continue;
+			}
+			if (++digits > MAX_EXACT_DIGITS) {
+				return Double.parseDouble(new String(in, start, length));
+			}
+			mantissa = mantissa * 10 + (c - '0');
+		}
+		if (fraction < POWERS_OF_TEN.length) {
+			return mantissa / POWERS_OF_TEN[fraction];
+		}
+		return Double.parseDouble(new String(in, start, length));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+/**
+ * Author: sphinks
+ * File: PackedTokens.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Scanned tokens stored column-wise in primitive arrays instead of one object
+ * per token: kind ordinal, start offset and length in the source, and parsed
+ * value for numbers (reals as raw double bits). A token costs 17 bytes, and
+ * text of a token is only built on request from the kept source.
+ */
+public class PackedTokens extends TokenSink {
+
+	private final static int DEFAULT_CAPACITY = 16;
+
+	private final char[] source;
+	private byte[] kinds;
+	private int[] starts;
+	private int[] lengths;
+	private long[] values;
+	private int size;
+	private int errorPosition = -1;
+
+	PackedTokens(char[] source) {
+		this.source = source;
+		kinds = new byte[DEFAULT_CAPACITY];
+		starts = new int[DEFAULT_CAPACITY];
+		lengths = new int[DEFAULT_CAPACITY];
+		values = new long[DEFAULT_CAPACITY];
+		size = 0;
+	}
+
+	void add(Token token, int start, int length) {
+		if (size == kinds.length) {
+			int capacity = kinds.length << 1;
+			kinds = Arrays.copyOf(kinds, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		kinds[size] = (byte) token.getKind().ordinal();
+		starts[size] = start;
+		lengths[size] = length;
+		switch (token.getKind()) {
+		case INTEGER_LITERAL:
+			values[size] = ((IntegerToken) token).getValue();
+			break;
+		case REAL_LITERAL:
+			values[size] = Double.doubleToRawLongBits(((RealToken) token).getValue());
+			break;
+		default:
+			values[size] = 0;
+		}
+		size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	void setErrorPosition(int position) {
+		errorPosition = position;
+	}
+
+	/**
+	 * @return position of the character scanning failed at, -1 if the whole source was scanned
+	 */
+	public int getErrorPosition() {
+		return errorPosition;
+	}
+
+	public TokenKind kind(int index) {
+		return TokenKind.valueOf(kinds[check(index)]);
+	}
+
+	public int start(int index) {
+		return starts[check(index)];
+	}
+
+	public int length(int index) {
+		return lengths[check(index)];
+	}
+
+	/**
+	 * Value of integer token, 0 for other kinds.
+	 */
+	public long longValue(int index) {
+		return kinds[check(index)] == TokenKind.INTEGER_LITERAL.ordinal() ? values[index] : 0;
+	}
+
+	/**
+	 * Value of real or integer token, 0 for other kinds.
+	 */
+	public double doubleValue(int index) {
+		int kind = kinds[check(index)];
+		if (kind == TokenKind.REAL_LITERAL.ordinal()) {
+			return Double.longBitsToDouble(values[index]);
+		}
+		return kind == TokenKind.INTEGER_LITERAL.ordinal() ? values[index] : 0;
+	}
+
+	/**
+	 * Source text the token was scanned from.
+	 */
+	public String text(int index) {
+		return new String(source, starts[check(index)], lengths[index]);
+	}
+
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	private int check(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return index;
+	}
+
+	/**
+	 * Forward view over the packed tokens. Call next() before reading the
+	 * first token.
+	 */
+	public class Cursor {
+
+		private int index = -1;
+
+		public boolean next() {
+			if (index < size) {
+				index++;
+			}
+			return index < size;
+		}
+
+		public int index() {
+			return index;
+		}
+
+		public TokenKind kind() {
+			return PackedTokens.this.kind(index);
+		}
+
+		public int start() {
+			return PackedTokens.this.start(index);
+		}
+
+		public int length() {
+			return PackedTokens.this.length(index);
+		}
+
+		public long longValue() {
+			return PackedTokens.this.longValue(index);
+		}
+
+		public double doubleValue() {
+			return PackedTokens.this.doubleValue(index);
+		}
+
+		public String text() {
+			return PackedTokens.this.text(index);
+		}
+	}
+}
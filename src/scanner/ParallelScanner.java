@@ -0,0 +1,148 @@
+/**
+ * Author: sphinks
+ * File: ParallelScanner.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Scanner for big scripts which splits input into chunks and scans them on a
+ * ForkJoinPool. Chunks are cut only right after a line break which is not
+ * inside a quoted string, so no token crosses a cut and the result is the same
+ * as of a sequential {@link Scanner}.
+ * <p>
+ * Whether a position is inside a string depends on all quotes before it, so
+ * quotes of every chunk are counted in parallel first and chunk starts are
+ * found from the prefix parity of those counts.
+ */
+public class ParallelScanner {
+
+	private final static int MIN_CHUNK_SIZE = 1 << 16;
+
+	private final ForkJoinPool pool;
+	private final boolean compiled;
+
+	public ParallelScanner(ForkJoinPool pool) {
+		this(pool, true);
+	}
+
+	/**
+	 * @param compiled scan chunks with compiled scanners, see {@link Scanner#Scanner(boolean)}
+	 */
+	public ParallelScanner(ForkJoinPool pool, boolean compiled) {
+		this.pool = pool;
+		this.compiled = compiled;
+	}
+
+	/**
+	 * @return tokens in input order or null if input can not be scanned
+	 */
+	public Token[] scan(final char[] in) {
+		int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, in.length / MIN_CHUNK_SIZE));
+		final int[] bounds = new int[chunks + 1];
+		for (int k = 0; k <= chunks; ++k) {
+			bounds[k] = (int) ((long) in.length * k / chunks);
+		}
+
+		List<Callable<Integer>> countTasks = new ArrayList<Callable<Integer>>(chunks);
+		for (int k = 0; k < chunks; ++k) {
+			final int from = bounds[k];
+			final int to = bounds[k + 1];
+			countTasks.add(new Callable<Integer>() {
+				public Integer call() {
+					int quotes = 0;
+					for (int i = from; i < to; ++i) {
+						if (in[i] == '"') {
+							quotes++;
+						}
+					}
+					return quotes;
+				}
+			});
+		}
+		List<Integer> counts = invokeAll(countTasks);
+
+		final boolean[] quoted = new boolean[chunks + 1];
+		for (int k = 0; k < chunks; ++k) {
+			quoted[k + 1] = quoted[k] ^ ((counts.get(k) & 1) == 1);
+		}
+
+		List<Callable<TokenBuffer>> scanTasks = new ArrayList<Callable<TokenBuffer>>(chunks);
+		for (int k = 0; k < chunks; ++k) {
+			final int chunk = k;
+			scanTasks.add(new Callable<TokenBuffer>() {
+				public TokenBuffer call() {
+					int start = chunkStart(in, bounds, quoted, chunk);
+					int end = chunkStart(in, bounds, quoted, chunk + 1);
+					return new Scanner(compiled).scan(in, start, end, new TokenBuffer());
+				}
+			});
+		}
+		List<TokenBuffer> buffers = invokeAll(scanTasks);
+
+		int size = 0;
+		for (TokenBuffer buffer : buffers) {
+			if (buffer == null) {
+				return null;
+			}
+			size += buffer.size();
+		}
+		Token[] tokens = new Token[size];
+		int position = 0;
+		for (TokenBuffer buffer : buffers) {
+			buffer.copyTo(tokens, position);
+			position += buffer.size();
+		}
+		return tokens;
+	}
+
+	/**
+	 * First line start outside of a string within chunk, or end of chunk if
+	 * there is none, in which case the chunk is scanned with the previous one.
+	 */
+	private static int chunkStart(char[] in, int[] bounds, boolean[] quoted, int chunk) {
+		if (chunk == 0) {
+			return 0;
+		}
+		if (chunk == bounds.length - 1) {
+			return in.length;
+		}
+		boolean inString = quoted[chunk];
+		int limit = bounds[chunk + 1];
+		for (int i = bounds[chunk]; i < limit; ++i) {
+			if (!inString && in[i - 1] == '\n') {
+				return i;
+			}
+			if (in[i] == '"') {
+				inString = !inString;
+			}
+		}
+		return limit;
+	}
+
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		try {
+			for (Future<T> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Scanning interrupted", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+		return results;
+	}
+}
@@ -8,5 +8,12 @@ package scanner;
 
 abstract class Pattern {
 
-	abstract MatchResult match(char[] in, int start);
+	MatchResult match(char[] in, int start) {
+		return match(in, start, in.length);
+	}
+
+	/**
+	 * Match input starting at start, looking no further than end (exclusive).
+	 */
+	abstract MatchResult match(char[] in, int start, int end);
 }
\ No newline at end of file
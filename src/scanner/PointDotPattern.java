@@ -8,7 +8,7 @@ package scanner;
 
 class PointDotPattern extends Pattern{
 
-	MatchResult match(char[] in, int start) {
+	MatchResult match(char[] in, int start, int end) {
 		int i = start;
 		TokenKind k;
 		switch (in[start]){
@@ -44,11 +44,11 @@ class PointDotPattern extends Pattern{
 
 		case '<':
 			i++;
-			if (in.length - start > 1 && in[start+1] == '>'){
+			if (end - start > 1 && in[start+1] == '>'){
 				i++;
 				k = TokenKind.NOT_EQUALS;
 			} else {
-				if (in.length - start > 1 && in[start+1] == '='){ 
+				if (end - start > 1 && in[start+1] == '='){ 
 					i++;
 					k = TokenKind.LESS_EQUALS;
 				} else {
@@ -59,7 +59,7 @@ class PointDotPattern extends Pattern{
 
 		case '>':
 			i++;
-			if (in.length - start > 1 && in[start+1] == '='){
+			if (end - start > 1 && in[start+1] == '='){
 				i++;
 				k = TokenKind.MORE_EQUALS;
 			} else {
@@ -68,7 +68,7 @@ class PointDotPattern extends Pattern{
 			break;
 
 		case '.':
-			if (in.length - start > 1 && in[start+1] == '.'){
+			if (end - start > 1 && in[start+1] == '.'){
 				i += 2;
 				k = TokenKind.DOT_DOT;
 			} else {
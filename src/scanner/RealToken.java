@@ -6,7 +6,7 @@
 
 package scanner;
 
-class RealToken extends Token {
+public class RealToken extends Token {
 
 	private double value;
 
@@ -15,7 +15,7 @@ class RealToken extends Token {
 		this.value = value;
 	}
 
-	double getValue() {
+	public double getValue() {
 		return value;
 	}
 
@@ -16,36 +16,112 @@ public class Scanner {
 		new NumberPattern(),
 		new CharacterPattern() };
 
+	private final CompiledPattern compiled;
+
+	public Scanner() {
+		this(false);
+	}
+
+	/**
+	 * Compiled scanner shares tokens between equal lexemes and keeps state
+	 * between calls, so it must not be used from several threads at once.
+	 * Its tokens do not refer to the scanned array, which may be changed or
+	 * dropped as soon as scan returns.
+	 *
+	 * @param compiled scan with single pass CompiledPattern instead of trying
+	 *    every pattern of PATTERNS at each position
+	 */
+	public Scanner(boolean compiled) {
+		this.compiled = compiled ? new CompiledPattern() : null;
+	}
+
 	public Token[] scan(char[] in) {
-		Token[] token_array = new Token[0];
-		Token[] tmp;
-		int k = 0;
-		for (int i = 0; i < in.length; ) {
-			SuccessMatchResult longestResult = null;
-			for (int j = 0; j < PATTERNS.length; ++j) {
-				MatchResult r = PATTERNS[j].match(in, i);
-				if (r instanceof SuccessMatchResult) {
-					SuccessMatchResult result = (SuccessMatchResult) r;
-					if (longestResult == null || result.getEatenCount() > longestResult.getEatenCount()) {
-						longestResult = result;
-					}
-				}
+		TokenBuffer buffer = scan(in, new TokenBuffer());
+		return buffer != null ? buffer.toArray() : null;
+	}
+
+	/**
+	 * Scan input into the given buffer, which is cleared first so it can be
+	 * reused between calls.
+	 *
+	 * @return the filled buffer or null if input can not be scanned, the
+	 *    buffer then tells where with {@link TokenBuffer#getErrorPosition()}
+	 */
+	public TokenBuffer scan(char[] in, TokenBuffer buffer) {
+		return scan(in, 0, in.length, buffer);
+	}
+
+	TokenBuffer scan(char[] in, int start, int end, TokenBuffer buffer) {
+		buffer.clear();
+		return scanInto(in, start, end, buffer) ? buffer : null;
+	}
+
+	/**
+	 * Scan input into column-wise PackedTokens. Tokens are not kept as objects,
+	 * which together with compiled mode makes scanning of big scripts cheap on
+	 * memory.
+	 *
+	 * @return packed tokens, if input can not be scanned they hold the tokens
+	 *    before {@link PackedTokens#getErrorPosition()}
+	 */
+	public PackedTokens scanPacked(char[] in) {
+		PackedTokens tokens = new PackedTokens(in);
+		scanInto(in, 0, in.length, tokens);
+		return tokens;
+	}
+
+	/**
+	 * Scan loop shared by all results, stops at the first character no
+	 * pattern matches and reports its position to the sink.
+	 *
+	 * @return true if the whole input was scanned
+	 */
+	private boolean scanInto(char[] in, int start, int end, TokenSink sink) {
+		for (int i = start; i < end; ) {
+			SuccessMatchResult longestResult = match(in, i, end);
+			if (longestResult == null) {
+				sink.setErrorPosition(i);
+				return false;
+			}
+			if (longestResult instanceof TokenMatchResult) {
+				sink.add(((TokenMatchResult)longestResult).getToken(), i, longestResult.getEatenCount());
 			}
-			if (longestResult != null) {
-				if (longestResult instanceof TokenMatchResult) {
-					tmp = new Token[k];
-					System.arraycopy(token_array,0,tmp,0,k);
-					token_array = new Token[k+1];
-					System.arraycopy(tmp,0,token_array,0,k);
-					token_array[k] = (((TokenMatchResult)longestResult).getToken());
-					k++;
+			i += longestResult.getEatenCount();
+		}
+		return true;
+	}
+
+	/**
+	 * Create a stream scanning tokens from source with this scanner's mode.
+	 */
+	public TokenStream stream(Readable source) {
+		return new TokenStream(source, this);
+	}
+
+	SuccessMatchResult match(char[] in, int start, int end) {
+		if (compiled != null) {
+			MatchResult r = compiled.match(in, start, end);
+			return r instanceof SuccessMatchResult ? (SuccessMatchResult) r : null;
+		}
+		return longestMatch(in, start, end);
+	}
+
+	/**
+	 * Try all patterns at start and pick the one eating most characters.
+	 *
+	 * @return the longest match or null if no pattern matches
+	 */
+	static SuccessMatchResult longestMatch(char[] in, int start, int end) {
+		SuccessMatchResult longestResult = null;
+		for (int j = 0; j < PATTERNS.length; ++j) {
+			MatchResult r = PATTERNS[j].match(in, start, end);
+			if (r instanceof SuccessMatchResult) {
+				SuccessMatchResult result = (SuccessMatchResult) r;
+				if (longestResult == null || result.getEatenCount() > longestResult.getEatenCount()) {
+					longestResult = result;
 				}
-				i += longestResult.getEatenCount();
-			} else {
-				System.out.println("Error");
-				return null;
 			}
 		}
-		return token_array;
+		return longestResult;
 	}
-}  
\ No newline at end of file
+}
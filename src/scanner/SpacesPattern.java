@@ -8,9 +8,9 @@ package scanner;
 
 class SpacesPattern extends Pattern {
 
-	MatchResult match(char[] in, int start) {
+	MatchResult match(char[] in, int start, int end) {
 		int i = start;
-		for (; i < in.length && in[i] == ' '; ++i) { }
+		for (; i < end && CharUtils.isSpace(in[i]); ++i) { }
 		if (i > start) {
 			return new IgnorableMatchResult(i - start);
 		} else {
@@ -8,11 +8,14 @@ package scanner;
 
 class StringPattern extends Pattern{
 
-	MatchResult match(char[] in, int start) {
+	MatchResult match(char[] in, int start, int end) {
 		int i = start;
 		if (in[start] == '"') {
-			for (; i < in.length && in[i+1] != '"'; ++i) { }
-			i++;
+			for (i++; i < end && in[i] != '"'; ++i) { }
+			if (i < end) {
+				//Closing quote
+				i++;
+			}
 		}
 		if (i > start) {
 			String s = new String(in, start, i - start);
@@ -6,20 +6,13 @@
 
 package scanner;
 
-class StringToken extends Token{
-
-	private String value;
+public class StringToken extends LexemeToken {
 
 	StringToken(String value) {
-		super(TokenKind.STRING_LITERAL);
-		this.value = value;
-	}
-
-	String getValue() {
-		return value;
+		super(TokenKind.STRING_LITERAL, value);
 	}
 
-	public String toString() {
-		return super.toString() + ": " + value;
+	StringToken(char[] source, int offset, int length) {
+		super(TokenKind.STRING_LITERAL, source, offset, length);
 	}
-}
\ No newline at end of file
+}
@@ -17,4 +17,8 @@ abstract class SuccessMatchResult extends MatchResult {
 	int getEatenCount() {
 		return eatenCount;
 	}
+
+	void setEatenCount(int eatenCount) {
+		this.eatenCount = eatenCount;
+	}
 }
@@ -6,11 +6,9 @@
 
 package scanner;
 
-import java.util.*;
-
 public class Token{
 
-	static Map<String, TokenKind> command = new HashMap<String, TokenKind>();
+	private final static Token[] SHARED = new Token[TokenKind.count()];
 
 	private TokenKind kind;
 
@@ -18,12 +16,21 @@ public class Token{
 		this.kind = kind;
 	}
 
-	public TokenKind getKind() {
-		return kind;
+	static {
+		for (int i = 0; i < SHARED.length; ++i) {
+			SHARED[i] = new Token(TokenKind.valueOf(i));
+		}
 	}
 
-	static {
-		command.put("issue", TokenKind.COMMAND_ISSUE);
+	/**
+	 * Shared token for kinds which carry no value.
+	 */
+	static Token of(TokenKind kind) {
+		return SHARED[kind.ordinal()];
+	}
+
+	public TokenKind getKind() {
+		return kind;
 	}
 
 	public String toString() {
@@ -0,0 +1,79 @@
+/**
+ * Author: sphinks
+ * File: TokenBuffer.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of tokens filled by {@link Scanner}. Capacity is doubled when
+ * exhausted, so appending n tokens costs O(n) with O(log n) allocations.
+ * A buffer can be cleared and passed to the scanner again to reuse its storage.
+ */
+public class TokenBuffer extends TokenSink {
+
+	private final static int DEFAULT_CAPACITY = 16;
+
+	private Token[] tokens;
+	private int size;
+	private int errorPosition = -1;
+
+	public TokenBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public TokenBuffer(int capacity) {
+		tokens = new Token[capacity > 0 ? capacity : DEFAULT_CAPACITY];
+		size = 0;
+	}
+
+	void add(Token token, int start, int length) {
+		add(token);
+	}
+
+	void add(Token token) {
+		if (size == tokens.length) {
+			tokens = Arrays.copyOf(tokens, tokens.length << 1);
+		}
+		tokens[size++] = token;
+	}
+
+	public Token get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return tokens[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(tokens, 0, size, null);
+		size = 0;
+		errorPosition = -1;
+	}
+
+	void setErrorPosition(int position) {
+		errorPosition = position;
+	}
+
+	/**
+	 * @return position of the character the last scan failed at, -1 if it did not fail
+	 */
+	public int getErrorPosition() {
+		return errorPosition;
+	}
+
+	void copyTo(Token[] dest, int destPos) {
+		System.arraycopy(tokens, 0, dest, destPos, size);
+	}
+
+	public Token[] toArray() {
+		return Arrays.copyOf(tokens, size);
+	}
+}
@@ -6,71 +6,61 @@
 
 package scanner;
 
+public enum TokenKind {
 
-public class TokenKind {
+	COMMA(","),
+	COLON(":"),
+	EQUALS("="),
+	SEMICOLON(";"),
+	DOT("."),
+	DOT_DOT(".."),
+	LESS("<"),
+	MORE(">"),
+	LESS_EQUALS("<="),
+	MORE_EQUALS(">="),
+	NOT_EQUALS("<>"),
+	DASH("-"),
+	PIPE("|"),
 
-	final static TokenKind COMMA;
-	final static TokenKind COLON;
-	final static TokenKind EQUALS;
-	final static TokenKind SEMICOLON;
-	final static TokenKind DOT;
-	final static TokenKind DOT_DOT;
-	final static TokenKind LESS;
-	final static TokenKind MORE;
-	final static TokenKind MORE_EQUALS;
-	final static TokenKind LESS_EQUALS;
-	final static TokenKind NOT_EQUALS;
-	final static TokenKind DASH;
-	final static TokenKind PIPE;
+	COMMAND_ISSUE("issue", true),
+	MODIFIER("modifier"),
 
-	final static TokenKind COMMAND_ISSUE;
-	final static TokenKind MODIFIER;
+	CHARACTER_LITERAL("Character"),
+	INTEGER_LITERAL("Integer"),
+	REAL_LITERAL("Real"),
+	STRING_LITERAL("String");
 
-	final static TokenKind CHARACTER_LITERAL;
-	final static TokenKind INTEGER_LITERAL;
-	final static TokenKind REAL_LITERAL;
-	final static TokenKind STRING_LITERAL;
+	private final static TokenKind[] VALUES = values();
 
-
-
-	private final int value;
 	private final String name;
+	private final boolean keyword;
+
+	private TokenKind(String name) {
+		this(name, false);
+	}
 
-	private TokenKind(int value, String name) {
-		this.value = value;
+	private TokenKind(String name, boolean keyword) {
 		this.name = name;
+		this.keyword = keyword;
 	}
 
-	public boolean equals(Object o) {
-		return o instanceof TokenKind ? value == ((TokenKind) o).value : false;
+	/**
+	 * Keyword kinds are scanned from a word equal to their name instead of
+	 * becoming a Character literal.
+	 */
+	public boolean isKeyword() {
+		return keyword;
 	}
 
 	public String toString() {
 		return name;
 	}
 
-	static {
-		int i = 0;
-		COMMA = new TokenKind(i, ",");
-		COLON = new TokenKind(i++, ":");
-		EQUALS = new TokenKind(i++, "=");
-		SEMICOLON = new TokenKind(i++, ";");
-		DOT = new TokenKind(i++, ".");
-		DOT_DOT = new TokenKind(i++, "..");
-		LESS = new TokenKind(i++, "<");
-		MORE = new TokenKind(i++, ">");
-		LESS_EQUALS = new TokenKind(i++, "<=");
-		MORE_EQUALS = new TokenKind(i++, ">=");
-		NOT_EQUALS = new TokenKind(i++, "<>");
-		DASH = new TokenKind(i++, "-");
-		PIPE = new TokenKind(i++, "|");
-
-		COMMAND_ISSUE = new TokenKind(i++, "issue");
-		MODIFIER = new TokenKind(i++, "modifier");
+	static TokenKind valueOf(int ordinal) {
+		return VALUES[ordinal];
+	}
 
-		CHARACTER_LITERAL = new TokenKind(i++, "Character");
-		INTEGER_LITERAL = new TokenKind(i++, "Integer");
-		REAL_LITERAL = new TokenKind(i++, "Real");
-		STRING_LITERAL = new TokenKind(i++, "String");
+	static int count() {
+		return VALUES.length;
 	}
 }
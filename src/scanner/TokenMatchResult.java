@@ -18,4 +18,8 @@ public class TokenMatchResult extends SuccessMatchResult {
 	Token getToken() {
 		return token;
 	}
+
+	void setToken(Token token) {
+		this.token = token;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+/**
+ * Author: sphinks
+ * File: TokenSink.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+/**
+ * Receiver of the tokens of a scan, see {@link Scanner}. An abstract class
+ * rather than an interface, so receiving stays package private.
+ */
+abstract class TokenSink {
+
+	/**
+	 * Token scanned from in[start, start + length).
+	 */
+	abstract void add(Token token, int start, int length);
+
+	/**
+	 * Scanning stopped at a character no pattern matches.
+	 */
+	abstract void setErrorPosition(int position);
+}
@@ -0,0 +1,122 @@
+/**
+ * Author: sphinks
+ * File: TokenStream.java
+ * Date: 18.10.2026
+ */
+
+package scanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Pull-based scanner over a {@link Readable} source such as a Reader or a
+ * CharBuffer. Input is read into a fixed window and tokens are produced one by
+ * one, so only the current window is kept in memory. The window grows only
+ * when a single token does not fit into it.
+ */
+public class TokenStream implements Closeable {
+
+	private final static int DEFAULT_WINDOW_SIZE = 8192;
+
+	private final Readable source;
+	private final Scanner scanner;
+	private char[] window;
+	private int position;
+	private int limit;
+	private long offset;
+	private boolean eof;
+
+	public TokenStream(Readable source) {
+		this(source, DEFAULT_WINDOW_SIZE);
+	}
+
+	public TokenStream(Readable source, int windowSize) {
+		this(source, windowSize, new Scanner());
+	}
+
+	TokenStream(Readable source, Scanner scanner) {
+		this(source, DEFAULT_WINDOW_SIZE, scanner);
+	}
+
+	TokenStream(Readable source, int windowSize, Scanner scanner) {
+		this.source = source;
+		this.scanner = scanner;
+		this.window = new char[windowSize > 1 ? windowSize : DEFAULT_WINDOW_SIZE];
+		this.position = 0;
+		this.limit = 0;
+		this.offset = 0;
+		this.eof = false;
+	}
+
+	/**
+	 * Scan the next token.
+	 *
+	 * @return next token or null when the source is exhausted
+	 * @throws IOException if source can not be read or contains a character
+	 *    no pattern matches
+	 */
+	public Token nextToken() throws IOException {
+		while (true) {
+			if (position == limit) {
+				if (eof) {
+					return null;
+				}
+				fill();
+				continue;
+			}
+			SuccessMatchResult result = scanner.match(window, position, limit);
+			if (result == null) {
+				throw new IOException("Unexpected character '" + window[position] + "' at position " + offset);
+			}
+			int eaten = result.getEatenCount();
+			if (position + eaten == limit && !eof) {
+				//Match may continue behind the window, read more and try again
+				fill();
+				continue;
+			}
+			position += eaten;
+			offset += eaten;
+			if (result instanceof TokenMatchResult) {
+				return ((TokenMatchResult) result).getToken();
+			}
+		}
+	}
+
+	/**
+	 * Position in source of the next character to be scanned.
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void close() throws IOException {
+		if (source instanceof Closeable) {
+			((Closeable) source).close();
+		}
+	}
+
+	private void fill() throws IOException {
+		if (position > 0) {
+			System.arraycopy(window, position, window, 0, limit - position);
+			limit -= position;
+			position = 0;
+		}
+		if (limit == window.length) {
+			char[] tmp = new char[window.length << 1];
+			System.arraycopy(window, 0, tmp, 0, limit);
+			window = tmp;
+		}
+		CharBuffer buffer = CharBuffer.wrap(window, limit, window.length - limit);
+		int read;
+		do {
+			read = source.read(buffer);
+		} while (read == 0);
+		if (read < 0) {
+			eof = true;
+		} else {
+			limit += read;
+		}
+	}
+}
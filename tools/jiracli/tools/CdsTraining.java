@@ -0,0 +1,41 @@
+package jiracli.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import jiracli.common.JiraCli;
+
+/**
+ * Author: sphinks
+ * File: CdsTraining.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Training run for the AppCDS archive built by scripts/build-cds.sh. Runs
+ * typical commands in one JVM, so the classes they load end up in the
+ * archive. Commands are expected to fail without a reachable server, the REST
+ * stack is loaded before the request is sent.
+ */
+public class CdsTraining {
+
+	private final static String[][] COMMANDS = {
+			{"-h"},
+			{"-i", "JRA-1", "-s", "-w"},
+			{"-getProject", "-a"},
+			{"-l", "server", "login", "password"},
+			{"-e", "summary=text"}};
+
+	public static void main(String[] args) {
+		for (String[] command : COMMANDS) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(output, true);
+			try {
+				new JiraCli(command, null, out, out);
+			} catch (RuntimeException ex) {
+				out.println("Command failed: " + ex.toString());
+			}
+			System.out.print(output.toString());
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package jiracli.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import jiracli.common.Command;
+import jiracli.common.CommandGrammar;
+import jiracli.common.CompiledCommandGrammar;
+import jiracli.common.Grammar;
+import jiracli.common.ParserResult;
+import jiracli.common.Rule;
+
+import org.apache.commons.cli.Option;
+
+/**
+ * Author: sphinks
+ * File: GrammarCompiler.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Build step writing CommandGrammar rules as static tables of
+ * jiracli.common.CompiledCommandGrammar, so the CLI does not build rules on
+ * start. Run with path of the generated source file, normally
+ * src/jiracli/common/CompiledCommandGrammar.java. With --check the file is
+ * not written: the generated source is compared with it and the compiled
+ * grammar with the grammar built from the rules at runtime, exiting with 1
+ * when either differs.
+ */
+public class GrammarCompiler {
+
+	public static void main(String[] args) throws IOException {
+		boolean check = args.length == 2 && args[0].equals("--check");
+		if (args.length != 1 && !check) {
+			System.err.println("usage: java jiracli.tools.GrammarCompiler [--check] <output java file>");
+			System.exit(1);
+		}
+		if (check) {
+			check(new File(args[1]));
+			return;
+		}
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(args[0]), "UTF-8"));
+		try {
+			write(CommandGrammar.rules(), out);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static void check(File file) throws IOException {
+		StringWriter generated = new StringWriter();
+		PrintWriter out = new PrintWriter(generated);
+		write(CommandGrammar.rules(), out);
+		out.flush();
+		if (!lines(generated.toString()).equals(lines(read(file)))) {
+			System.err.println(file + " is out of date, regenerate it from CommandGrammar");
+			System.exit(1);
+		}
+		Grammar compiled = new CompiledCommandGrammar();
+		Grammar simple = CommandGrammar.createGrammar();
+		int count = 0;
+		//Every command with every subset of modifiers, in both orders for pairs
+		List<Option> commands = new ArrayList<Option>(Command.commands.values());
+		for (Option command : commands) {
+			for (int mask = 0; mask < 1 << commands.size(); ++mask) {
+				List<Option> options = new ArrayList<Option>();
+				options.add(command);
+				for (int i = 0; i < commands.size(); ++i) {
+					if ((mask & 1 << i) != 0) {
+						options.add(commands.get(i));
+					}
+				}
+				for (int reversed = 0; reversed < 2; ++reversed) {
+					if (reversed == 1) {
+						Collections.reverse(options.subList(1, options.size()));
+					}
+					Option[] array = options.toArray(new Option[options.size()]);
+					String expected = result(simple.parser(array));
+					String actual = result(compiled.parser(array));
+					if (!expected.equals(actual)) {
+						System.err.println("Grammars differ on: " + options);
+						System.err.println("rules:    " + expected);
+						System.err.println("compiled: " + actual);
+						System.exit(1);
+					}
+					count++;
+				}
+			}
+		}
+		System.out.println("Compiled grammar is up to date and agrees with the rules on " + count + " command lines");
+	}
+
+	private static String result(ParserResult result) {
+		return result.getClass().getSimpleName() + ' ' + result.getParsedRule();
+	}
+
+	private static String read(File file) throws IOException {
+		Reader in = new InputStreamReader(new FileInputStream(file), "UTF-8");
+		try {
+			StringBuilder text = new StringBuilder();
+			char[] buffer = new char[4096];
+			for (int n; (n = in.read(buffer)) > 0; ) {
+				text.append(buffer, 0, n);
+			}
+			return text.toString();
+		} finally {
+			in.close();
+		}
+	}
+
+	private static List<String> lines(String text) {
+		return Arrays.asList(text.split("\r?\n"));
+	}
+
+	static void write(List<Rule> rules, PrintWriter out) {
+		//Options get bits in alphabetical order so lookup is a binary search
+		TreeSet<String> modifierSet = new TreeSet<String>();
+		for (Rule rule : rules) {
+			for (Object right : rule.right()) {
+				modifierSet.add(((Option) right).getOpt());
+			}
+		}
+		List<String> modifiers = new ArrayList<String>(modifierSet);
+		if (modifiers.size() > 64) {
+			throw new IllegalStateException("Compiled grammar supports up to 64 modifiers");
+		}
+
+		//Rules are grouped by command and arity, keeping order inside a group
+		List<Rule> sorted = new ArrayList<Rule>(rules);
+		Collections.sort(sorted, new Comparator<Rule>() {
+			public int compare(Rule a, Rule b) {
+				int c = command(a).compareTo(command(b));
+				return c != 0 ? c : a.right().length - b.right().length;
+			}
+		});
+		List<String> commands = new ArrayList<String>();
+		List<Integer> firstRules = new ArrayList<Integer>();
+		for (int i = 0; i < sorted.size(); ++i) {
+			if (i == 0 || !command(sorted.get(i)).equals(command(sorted.get(i - 1)))) {
+				commands.add(command(sorted.get(i)));
+				firstRules.add(i);
+			}
+		}
+		firstRules.add(sorted.size());
+
+		out.println("package jiracli.common;");
+		out.println("import java.util.Arrays;");
+		out.println();
+		out.println("import org.apache.commons.cli.Option;");
+		out.println();
+		out.println("/**");
+		out.println(" * Generated by jiracli.tools.GrammarCompiler from CommandGrammar, do not edit.");
+		out.println(" * Rules are fixed tables, the grammar cannot be changed at runtime.");
+		out.println(" */");
+		out.println();
+		out.println("public final class CompiledCommandGrammar extends Grammar {");
+		out.println();
+		out.println("\tprivate final static String[] COMMANDS = " + strings(commands) + ";");
+		out.println("\tprivate final static int[] FIRST_RULE = " + ints(firstRules) + ";");
+		out.println("\tprivate final static String[] MODIFIERS = " + strings(modifiers) + ";");
+		List<Integer> arities = new ArrayList<Integer>();
+		List<String> signatures = new ArrayList<String>();
+		StringBuilder right = new StringBuilder("{");
+		for (int i = 0; i < sorted.size(); ++i) {
+			Rule rule = sorted.get(i);
+			arities.add(rule.right().length);
+			long signature = 0;
+			List<Integer> bits = new ArrayList<Integer>();
+			for (Object o : rule.right()) {
+				int bit = modifiers.indexOf(((Option) o).getOpt());
+				signature |= 1L << bit;
+				bits.add(bit);
+			}
+			signatures.add(signature + "L");
+			right.append(i > 0 ? ", " : "").append(ints(bits));
+		}
+		right.append("}");
+		out.println("\tprivate final static int[] ARITY = " + ints(arities) + ";");
+		out.println("\tprivate final static long[] SIGNATURE = {" + join(signatures) + "};");
+		out.println("\tprivate final static int[][] RIGHT = " + right + ";");
+		out.println();
+		out.println("\t@Override");
+		out.println("\tpublic ParserResult parser(Option[] options) {");
+		out.println("\t\tint command = options.length > 0 && options[0].getOpt() != null ? Arrays.binarySearch(COMMANDS, options[0].getOpt()) : -1;");
+		out.println("\t\tif (command >= 0) {");
+		out.println("\t\t\tlong present = 0;");
+		out.println("\t\t\tfor (int i = 0; i < options.length; ++i) {");
+		out.println("\t\t\t\tpresent |= bit(options[i].getOpt()) | bit(options[i].getLongOpt());");
+		out.println("\t\t\t}");
+		out.println("\t\t\tfor (int r = FIRST_RULE[command]; r < FIRST_RULE[command + 1]; ++r) {");
+		out.println("\t\t\t\tif (ARITY[r] == options.length - 1 && (SIGNATURE[r] & ~present) == 0) {");
+		out.println("\t\t\t\t\treturn new SuccessfullParserResult(rule(command, r));");
+		out.println("\t\t\t\t}");
+		out.println("\t\t\t}");
+		out.println("\t\t}");
+		out.println("\t\treturn new FailedParserResult(Rule.getUndefineRuleInstance());");
+		out.println("\t}");
+		out.println();
+		out.println("\tprivate static long bit(String opt) {");
+		out.println("\t\tint i = opt != null ? Arrays.binarySearch(MODIFIERS, opt) : -1;");
+		out.println("\t\treturn i >= 0 ? 1L << i : 0;");
+		out.println("\t}");
+		out.println();
+		out.println("\tprivate static Rule rule(int command, int r) {");
+		out.println("\t\tObject[] right = new Object[RIGHT[r].length];");
+		out.println("\t\tfor (int i = 0; i < right.length; ++i) {");
+		out.println("\t\t\tright[i] = Command.commands.get(MODIFIERS[RIGHT[r][i]]);");
+		out.println("\t\t}");
+		out.println("\t\treturn new Rule(Command.commands.get(COMMANDS[command]), right);");
+		out.println("\t}");
+		out.println("}");
+	}
+
+	private static String command(Rule rule) {
+		return ((Option) rule.left()).getOpt();
+	}
+
+	private static String strings(List<String> values) {
+		List<String> quoted = new ArrayList<String>();
+		for (String value : values) {
+			quoted.add('"' + value + '"');
+		}
+		return "{" + join(quoted) + "}";
+	}
+
+	private static String ints(List<Integer> values) {
+		List<String> strings = new ArrayList<String>();
+		for (Integer value : values) {
+			strings.add(value.toString());
+		}
+		return "{" + join(strings) + "}";
+	}
+
+	private static String join(List<String> values) {
+		StringBuilder b = new StringBuilder();
+		for (int i = 0; i < values.size(); ++i) {
+			b.append(i > 0 ? ", " : "").append(values.get(i));
+		}
+		return b.toString();
+	}
+}
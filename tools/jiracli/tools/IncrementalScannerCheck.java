@@ -0,0 +1,59 @@
+package jiracli.tools;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import scanner.IncrementalScanner;
+import scanner.Scanner;
+
+/**
+ * Author: sphinks
+ * File: IncrementalScannerCheck.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Runs a long sequence of random edits on one long line. After every edit the
+ * tokens of IncrementalScanner must be the same as a full scan of its text,
+ * and at the end the heap used after GC must stay small, so old copies of the
+ * line are not kept by the scanner. Exits with 1 on failure. Run with optional
+ * number of edits, line length and seed.
+ */
+public class IncrementalScannerCheck {
+
+	private final static long MAX_RETAINED_BYTES = 64L << 20;
+
+	public static void main(String[] args) {
+		int edits = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+		int length = args.length > 1 ? Integer.parseInt(args[1]) : 400000;
+		Random random = new Random(args.length > 2 ? Long.parseLong(args[2]) : 1);
+		StringBuilder line = new StringBuilder();
+		while (line.length() < length) {
+			line.append("issue JRA-").append(random.nextInt(100000))
+					.append(" \"s ").append(random.nextInt(1000)).append("\" 1.5 ");
+		}
+		IncrementalScanner incremental = new IncrementalScanner(line.toString());
+		Scanner full = new Scanner(true);
+		for (int i = 0; i < edits; ++i) {
+			String text = incremental.getText();
+			int offset = random.nextInt(text.length());
+			int removed = Math.min(random.nextInt(4), text.length() - offset);
+			incremental.edit(offset, removed, "x" + i + " ");
+			String expected = Arrays.toString(full.scan(incremental.getText().toCharArray()));
+			String actual = Arrays.toString(incremental.getTokens());
+			if (!expected.equals(actual)) {
+				System.err.println("Tokens differ from a full scan after edit " + i + " at " + offset);
+				System.exit(1);
+			}
+		}
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long retained = runtime.totalMemory() - runtime.freeMemory();
+		System.out.println(String.format("%d edits of a %d character line, %.1f MB used after GC",
+				edits, length, retained / 1e6));
+		if (retained > MAX_RETAINED_BYTES) {
+			System.err.println("Scanner keeps more than " + (MAX_RETAINED_BYTES >> 20) + " MB");
+			System.exit(1);
+		}
+	}
+}
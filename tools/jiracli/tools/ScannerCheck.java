@@ -0,0 +1,87 @@
+package jiracli.tools;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import scanner.Scanner;
+import scanner.Token;
+
+/**
+ * Author: sphinks
+ * File: ScannerCheck.java
+ * Date: 18.10.2026
+ */
+
+/**
+ * Differential check of the compiled scanner mode against the reference
+ * patterns. Edge cases and random inputs are scanned in both modes and the
+ * token output, or the failure, must be the same. Every input is overwritten
+ * before its tokens are printed, and one compiled scanner is used for all of
+ * them, so tokens still referring to scanned arrays show up as a difference.
+ * Exits with 1 on the first difference. Run with optional number of random
+ * inputs and seed.
+ */
+public class ScannerCheck {
+
+	private final static String[] EDGE_CASES = {
+		"", " ", "\t\r\n", "\"", "\"\"", "\"open", "\"a b\"c", "a\"b\"",
+		".", "..", "...", "1..10", "1...2", "1.", "1.5", ".5", "1.5.5", "1..", "..1",
+		"1e5", "1E-5", "1.5e10", "1.5e-3", "2e", "e5", "1e+5", "0.000001",
+		"007", "JRA-007", "123456789012345678", "1234567890.1234567890",
+		"9223372036854775807", "9223372036854775808", "12345678901234567890", "000000000000000000001",
+		"JRA-12345678901234567890", "12345678901234567890x", "12345678901234567890.5",
+		",", ",,", ",a", "a,b", "1,2", "<", "<=", "<>", "<<", ">", ">=", "=>", "=",
+		":", ";", "|", "||", "-", "--", "-1", "issue", "issues", "issue1", "Issue",
+		"x{", "{", "(", ")", "a(b", "\u0444\u044b\u0432", "a\u00e9b", "issue JRA-1 summary <= \"x\" | watchers",
+	};
+
+	private final static String ALPHABET = " \t\n\".,0123456789eE+-<>=:;|{()abcxyz\u00e9";
+	private final static String[] WORDS = {"issue", "modifier", "JRA", "..", "1e5", "\"s p\"", "<>", "007"};
+
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+		Scanner compiled = new Scanner(true);
+		Scanner reference = new Scanner(false);
+		for (String input : EDGE_CASES) {
+			check(input, reference, compiled);
+		}
+		Random random = new Random(seed);
+		StringBuilder input = new StringBuilder();
+		for (int n = 0; n < count; ++n) {
+			input.setLength(0);
+			int length = random.nextInt(24);
+			for (int i = 0; i < length; ++i) {
+				if (random.nextInt(4) == 0) {
+					input.append(WORDS[random.nextInt(WORDS.length)]);
+				} else {
+					input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+				}
+			}
+			check(input.toString(), reference, compiled);
+		}
+		System.out.println("Scanner modes agree on " + (EDGE_CASES.length + count) + " inputs");
+	}
+
+	private static void check(String input, Scanner reference, Scanner compiled) {
+		String expected = scan(reference, input);
+		String actual = scan(compiled, input);
+		if (!expected.equals(actual)) {
+			System.err.println("Scanner modes differ on: " + input);
+			System.err.println("reference: " + expected);
+			System.err.println("compiled:  " + actual);
+			System.exit(1);
+		}
+	}
+
+	private static String scan(Scanner scanner, String input) {
+		try {
+			char[] in = input.toCharArray();
+			Token[] tokens = scanner.scan(in);
+			Arrays.fill(in, '#');
+			return tokens != null ? Arrays.toString(tokens) : "error";
+		} catch (RuntimeException ex) {
+			return ex.getClass().getName();
+		}
+	}
+}